@@ -0,0 +1,50 @@
+#!/bin/bash
+
+# Benchmarks JMH de mapeo, serialización y lecturas del servicio (perfil Maven "benchmark")
+#
+# Uso:
+#   ./benchmark.sh                       Ejecuta los benchmarks y guarda benchmarks/<commit>.json
+#   ./benchmark.sh <commit>              Además compara con benchmarks/<commit>.json y falla si hay regresiones
+#
+# Variables opcionales:
+#   BENCHMARK_FILTER=Mapping             Solo los benchmarks cuyo nombre coincide con la expresión
+#   BENCHMARK_THRESHOLD=10               Porcentaje de empeoramiento que se considera regresión
+
+set -e
+
+cd "$(dirname "$0")"
+
+RESULTS_DIR="benchmarks"
+COMMIT=$(git rev-parse --short HEAD)
+RESULT_FILE="$RESULTS_DIR/$COMMIT.json"
+BASELINE="$1"
+FILTER="${BENCHMARK_FILTER:-}"
+THRESHOLD="${BENCHMARK_THRESHOLD:-10}"
+
+mkdir -p "$RESULTS_DIR"
+
+if [ -n "$(git status --porcelain --untracked-files=no)" ]; then
+  echo "Aviso: hay cambios sin confirmar; el resultado se guarda igualmente como $COMMIT"
+fi
+
+echo "================================"
+echo "Ejecutando benchmarks ($COMMIT)"
+echo "================================"
+mvn -B -q -Pbenchmark test-compile exec:exec \
+  -Dbenchmark.args="-rf json -rff $RESULT_FILE $FILTER"
+
+echo ""
+echo "Resultado guardado en $RESULT_FILE"
+
+if [ -n "$BASELINE" ]; then
+  BASELINE_FILE="$RESULTS_DIR/$(git rev-parse --short "$BASELINE").json"
+  if [ ! -f "$BASELINE_FILE" ]; then
+    echo "No existe $BASELINE_FILE: ejecuta ./benchmark.sh con $BASELINE en HEAD primero"
+    exit 2
+  fi
+  echo ""
+  echo "--- COMPARACIÓN CON $BASELINE ---"
+  mvn -B -q -Pbenchmark exec:exec \
+    -Dbenchmark.main=com.kata.api.benchmark.BenchmarkComparison \
+    -Dbenchmark.args="$BASELINE_FILE $RESULT_FILE $THRESHOLD"
+fi
@@ -0,0 +1,86 @@
+package com.kata.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.mapper.BeerMapper;
+import com.kata.api.mapper.BeerSummaryMapper;
+import com.kata.api.service.BeerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Codificación de respuestas con la configuración de Jackson de la aplicación (sin indentar, sin nulos)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BeerJsonBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private BeerDTO beer;
+    private CursorPageDTO<BeerDTO> page;
+    private List<BeerDTO> catalog;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext("com.kata.api.mapper")) {
+            BeerMapper beerMapper = context.getBean(BeerMapper.class);
+            BeerSummaryMapper beerSummaryMapper = context.getBean(BeerSummaryMapper.class);
+            var entities = BenchmarkData.beers(BenchmarkData.CATALOG_SIZE);
+
+            beer = beerMapper.toDTO(entities.get(0));
+            catalog = entities.stream().map(beerMapper::toDTO).toList();
+            List<BeerDTO> items = BenchmarkData.summaries(entities.subList(0, BeerService.DEFAULT_PAGE_SIZE)).stream()
+                    .map(beerSummaryMapper::toDTO)
+                    .toList();
+            page = CursorPageDTO.<BeerDTO>builder()
+                    .items(items)
+                    .size(items.size())
+                    .sort("id")
+                    .nextCursor("aWR8NTB8djUw")
+                    .hasNext(true)
+                    .build();
+        }
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    @Benchmark
+    public byte[] singleBeer() throws Exception {
+        return objectMapper.writeValueAsBytes(beer);
+    }
+
+    @Benchmark
+    public byte[] listPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] fullCatalog() throws Exception {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+}
@@ -0,0 +1,71 @@
+package com.kata.api.benchmark;
+
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.entity.Beer;
+import com.kata.api.mapper.BeerMapper;
+import com.kata.api.mapper.BeerSummaryMapper;
+import com.kata.api.repository.projection.BeerSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Coste de BeerMapper (detalle) y BeerSummaryMapper (listado) sin base de datos
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BeerMappingBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private BeerMapper beerMapper;
+    private BeerSummaryMapper beerSummaryMapper;
+
+    private Beer beer;
+    private List<Beer> catalog;
+    private List<BeerSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        // Los mappers usan otros mappers inyectados, así que se obtienen de un contexto con solo ese paquete
+        context = new AnnotationConfigApplicationContext("com.kata.api.mapper");
+        beerMapper = context.getBean(BeerMapper.class);
+        beerSummaryMapper = context.getBean(BeerSummaryMapper.class);
+
+        catalog = BenchmarkData.beers(BenchmarkData.CATALOG_SIZE);
+        beer = catalog.get(0);
+        summaries = BenchmarkData.summaries(catalog);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BeerDTO entityToDto() {
+        return beerMapper.toDTO(beer);
+    }
+
+    @Benchmark
+    public List<BeerDTO> catalogEntitiesToDtos() {
+        List<BeerDTO> dtos = new ArrayList<>(catalog.size());
+        for (Beer item : catalog) {
+            dtos.add(beerMapper.toDTO(item));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<BeerDTO> catalogSummariesToDtos() {
+        List<BeerDTO> dtos = new ArrayList<>(summaries.size());
+        for (BeerSummary summary : summaries) {
+            dtos.add(beerSummaryMapper.toDTO(summary));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,104 @@
+package com.kata.api.benchmark;
+
+import com.kata.api.KataApiCervezasApplication;
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.entity.Brewery;
+import com.kata.api.entity.Category;
+import com.kata.api.entity.Style;
+import com.kata.api.repository.BreweryRepository;
+import com.kata.api.repository.CategoryRepository;
+import com.kata.api.repository.StyleRepository;
+import com.kata.api.service.BeerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lecturas de BeerService de extremo a extremo (transacción, consulta, mapeo) sobre H2 en memoria con el catálogo completo
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BeerServiceBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private BeerFilter noFilter;
+    private BeerFilter rangeFilter;
+    private int nextId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(KataApiCervezasApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos de línea de comandos para que prevalezcan sobre application.properties
+                .run("--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.kata.api=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        beerService = context.getBean(BeerService.class);
+        seed();
+
+        noFilter = new BeerFilter();
+        rangeFilter = BeerFilter.builder().abvMin(4.0).abvMax(7.0).categoryId(3).build();
+        nextId = 1;
+    }
+
+    private void seed() {
+        List<Category> categories = context.getBean(CategoryRepository.class).saveAll(BenchmarkData.categories());
+        List<Style> styles = context.getBean(StyleRepository.class).saveAll(BenchmarkData.styles(categories));
+        List<Brewery> breweries = context.getBean(BreweryRepository.class).saveAll(BenchmarkData.breweries());
+        List<BeerDTO> beers = BenchmarkData.beerDTOs(BenchmarkData.CATALOG_SIZE, breweries, styles);
+        for (int from = 0; from < beers.size(); from += SEED_BATCH_SIZE) {
+            beerService.createBeers(beers.subList(from, Math.min(from + SEED_BATCH_SIZE, beers.size())));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Recorre los ids para no medir siempre la misma fila
+    private int nextBeerId() {
+        int id = nextId;
+        nextId = id % BenchmarkData.CATALOG_SIZE + 1;
+        return id;
+    }
+
+    @Benchmark
+    public BeerDTO beerById() {
+        return beerService.getBeerById(nextBeerId());
+    }
+
+    @Benchmark
+    public Long beerVersion() {
+        return beerService.getBeerVersion(nextBeerId());
+    }
+
+    @Benchmark
+    public CursorPageDTO<BeerDTO> firstPageByName() {
+        return beerService.getBeersPage("name", null, BeerService.DEFAULT_PAGE_SIZE, noFilter, false);
+    }
+
+    @Benchmark
+    public CursorPageDTO<BeerDTO> filteredPageWithFacets() {
+        return beerService.getBeersPage("abv", null, BeerService.DEFAULT_PAGE_SIZE, rangeFilter, true);
+    }
+}
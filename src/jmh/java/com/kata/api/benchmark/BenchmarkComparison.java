@@ -0,0 +1,71 @@
+package com.kata.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Compara dos resultados JMH en JSON (-rf json) y termina con código 1 si algún benchmark empeora más del umbral
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: BenchmarkComparison <resultado-base.json> <resultado-nuevo.json> [umbral-%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Base", "Nuevo", "Cambio");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", score, "nuevo");
+                continue;
+            }
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            // En modo throughput más es mejor; en el resto (tiempo medio, muestras) menos es mejor
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = (score - baseScore) / baseScore * 100;
+            double worsening = higherIsBetter ? -change : change;
+            boolean regression = worsening > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), baseScore, score, change, unit,
+                    regression ? "  <-- REGRESIÓN" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) empeoran más de un %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+        System.out.printf("Sin regresiones por encima del %.1f%%%n", threshold);
+    }
+
+    // Clave: nombre del benchmark más sus @Param, para comparar cada combinación por separado
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.kata.api.benchmark.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(" ").append(param.getKey()).append("=").append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
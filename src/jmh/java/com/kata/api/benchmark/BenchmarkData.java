@@ -0,0 +1,115 @@
+package com.kata.api.benchmark;
+
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.entity.Beer;
+import com.kata.api.entity.Brewery;
+import com.kata.api.entity.Category;
+import com.kata.api.entity.Style;
+import com.kata.api.repository.projection.BeerSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Catálogo sintético con el tamaño del Open Beer DB; la semilla fija hace comparables las ejecuciones
+final class BenchmarkData {
+
+    static final int CATALOG_SIZE = 5901;
+    static final int BREWERIES = 1414;
+    static final int STYLES = 141;
+    static final int CATEGORIES = 11;
+
+    private static final String DESCRIPTION = "Cerveza de fermentación alta con notas de cítricos y caramelo, "
+            + "amargor medio y final seco. Elaborada con maltas pale y crystal y lupulada en seco.";
+
+    private BenchmarkData() {
+    }
+
+    static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 1; i <= CATEGORIES; i++) {
+            categories.add(Category.builder().name("Categoría " + i).description("Descripción de la categoría " + i).build());
+        }
+        return categories;
+    }
+
+    static List<Style> styles(List<Category> categories) {
+        List<Style> styles = new ArrayList<>(STYLES);
+        for (int i = 1; i <= STYLES; i++) {
+            styles.add(Style.builder().name("Estilo " + i).description("Descripción del estilo " + i)
+                    .category(categories.get(i % categories.size())).build());
+        }
+        return styles;
+    }
+
+    static List<Brewery> breweries() {
+        List<Brewery> breweries = new ArrayList<>(BREWERIES);
+        for (int i = 1; i <= BREWERIES; i++) {
+            breweries.add(Brewery.builder().name("Cervecería " + i).address("Calle Mayor " + i)
+                    .city("Ciudad " + (i % 300)).country("País " + (i % 40)).phone("600" + i)
+                    .website("https://cerveceria" + i + ".example.com").description(DESCRIPTION).build());
+        }
+        return breweries;
+    }
+
+    static List<BeerDTO> beerDTOs(int count, List<Brewery> breweries, List<Style> styles) {
+        Random random = new Random(42);
+        List<BeerDTO> beers = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Style style = styles.get(random.nextInt(styles.size()));
+            beers.add(BeerDTO.builder()
+                    .name("Cerveza " + i)
+                    .description(DESCRIPTION)
+                    .abv(random.nextInt(10) == 0 ? null : Math.round(random.nextDouble() * 120) / 10.0)
+                    .ibu(random.nextInt(3) == 0 ? null : (double) random.nextInt(100))
+                    .breweryId(breweries.get(random.nextInt(breweries.size())).getId())
+                    .styleId(style.getId())
+                    .categoryId(style.getCategory().getId())
+                    .build());
+        }
+        return beers;
+    }
+
+    // Entidades con ids asignados y relaciones completas, como las deja el entity graph del detalle
+    static List<Beer> beers(int count) {
+        List<Category> categories = categories();
+        List<Style> styles = styles(categories);
+        List<Brewery> breweries = breweries();
+        for (int i = 0; i < categories.size(); i++) {
+            categories.get(i).setId(i + 1);
+        }
+        for (int i = 0; i < styles.size(); i++) {
+            styles.get(i).setId(i + 1);
+        }
+        for (int i = 0; i < breweries.size(); i++) {
+            breweries.get(i).setId(i + 1);
+        }
+        List<BeerDTO> dtos = beerDTOs(count, breweries, styles);
+
+        List<Beer> beers = new ArrayList<>(count);
+        for (int i = 0; i < dtos.size(); i++) {
+            BeerDTO dto = dtos.get(i);
+            beers.add(Beer.builder()
+                    .id(i + 1)
+                    .name(dto.getName())
+                    .description(dto.getDescription())
+                    .abv(dto.getAbv())
+                    .ibu(dto.getIbu())
+                    .brewery(breweries.get(dto.getBreweryId() - 1))
+                    .style(styles.get(dto.getStyleId() - 1))
+                    .category(categories.get(dto.getCategoryId() - 1))
+                    .version(0L)
+                    .build());
+        }
+        return beers;
+    }
+
+    static List<BeerSummary> summaries(List<Beer> beers) {
+        return beers.stream()
+                .map(beer -> new BeerSummary(beer.getId(), beer.getName(), beer.getAbv(), beer.getIbu(),
+                        beer.getBrewery().getId(), beer.getBrewery().getName(),
+                        beer.getStyle().getId(), beer.getStyle().getName(),
+                        beer.getCategory().getId(), beer.getCategory().getName()))
+                .toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.kata.api.admission;
+
+// Límite de peticiones simultáneas que se ajusta con la latencia observada (gradiente, como Gradient2 de
+// concurrency-limits): mientras la latencia reciente se parece a la de referencia el límite crece poco a poco,
+// y cuando sube porque se forma cola en el pool de conexiones el límite baja en proporción. Una latencia alta que
+// se mantiene durante cientos de peticiones pasa a ser la nueva referencia y el límite vuelve a crecer
+public class AdaptiveConcurrencyLimiter {
+
+    // Latencia hasta 1,5 veces la de referencia no reduce el límite
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    // Medias exponenciales de ~10 (reciente) y ~600 (referencia) muestras
+    private static final double SHORT_ALPHA = 2d / 11;
+    private static final double LONG_ALPHA = 2d / 601;
+    // Un error de servidor recorta el límite aunque la latencia no lo haya notado todavía
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final boolean adaptive;
+
+    private double limit;
+    private int inFlight;
+    private double shortRtt;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, boolean adaptive) {
+        if (maxLimit < 1 || adaptive && (minLimit < 1 || maxLimit < minLimit)) {
+            throw new IllegalArgumentException("Se requiere 1 <= minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.adaptive = adaptive;
+        this.limit = adaptive ? Math.max(minLimit, Math.min(maxLimit, initialLimit)) : maxLimit;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    // rttNanos < 0: la petición no aporta muestra (respuestas asíncronas, cuya duración no es latencia del servidor)
+    public synchronized void release(long rttNanos, boolean failed) {
+        int inFlightAtEnd = inFlight;
+        inFlight--;
+        if (!adaptive) {
+            return;
+        }
+        if (failed) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+        } else if (rttNanos >= 0) {
+            sample(Math.max(1, rttNanos), inFlightAtEnd);
+        }
+    }
+
+    private void sample(double rtt, int inFlightAtEnd) {
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt += SHORT_ALPHA * (rtt - shortRtt);
+        longRtt += LONG_ALPHA * (rtt - longRtt);
+        // Si la latencia baja de forma sostenida la referencia la sigue sin esperar a toda la ventana larga
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // Con pocas peticiones en curso la latencia no dice nada sobre el límite
+        if (inFlightAtEnd < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        // La raíz del límite deja margen para crecer cuando la latencia es estable
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,206 @@
+package com.kata.api.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kata.api.config.AdmissionProperties;
+import com.kata.api.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Control de admisión: cada cliente tiene un cubo de fichas (429 al agotarlo) y cada clase de ruta un límite de
+// peticiones simultáneas que se adapta a la latencia (503 al alcanzarlo). Las peticiones rechazadas no llegan a
+// pedir conexión al pool, así que un pico de listados no arrastra a las consultas por id
+@Slf4j
+@Component
+// Después del filtro de observación: los rechazos también cuentan en http.server.requests
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+    private static final Duration MIN_IDLE_BUCKET_TTL = Duration.ofMinutes(1);
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<RouteClass, AdmissionProperties.Pool> pools = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> rateLimited = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> overloaded = new EnumMap<>(RouteClass.class);
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        // Un cubo sin uso se descarta cuando ya estaría lleno: volver a crearlo lleno no cambia nada
+        Duration refill = Duration.ofMillis((long) Math.ceil(properties.getBurst() * 1000 / properties.getRatePerSecond()));
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(refill.compareTo(MIN_IDLE_BUCKET_TTL) > 0 ? refill : MIN_IDLE_BUCKET_TTL)
+                .maximumSize(properties.getMaxClients())
+                .build();
+
+        for (RouteClass route : RouteClass.values()) {
+            AdmissionProperties.Pool pool = pool(route);
+            if (pool.getCost() > properties.getBurst()) {
+                throw new IllegalArgumentException("app.admission." + tag(route) + ".cost supera app.admission.burst");
+            }
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    pool.getInitialLimit(), pool.getMinLimit(), pool.getMaxLimit(), pool.isAdaptive());
+            pools.put(route, pool);
+            limiters.put(route, limiter);
+            Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("route", tag(route)).register(meterRegistry);
+            Gauge.builder("admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("route", tag(route)).register(meterRegistry);
+            rateLimited.put(route, Counter.builder("admission.rejected")
+                    .tag("route", tag(route)).tag("reason", "rate_limit").register(meterRegistry));
+            overloaded.put(route, Counter.builder("admission.rejected")
+                    .tag("route", tag(route)).tag("reason", "concurrency").register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || routeOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RouteClass route = routeOf(request);
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.get(ClientKeys.of(request),
+                key -> new TokenBucket(properties.getRatePerSecond(), properties.getBurst(), now));
+        long waitNanos = bucket.tryAcquire(pools.get(route).getCost(), now);
+        if (waitNanos > 0) {
+            rateLimited.get(route).increment();
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, secondsCeil(waitNanos),
+                    "Límite de peticiones por cliente superado");
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(route);
+        if (!limiter.tryAcquire()) {
+            overloaded.get(route).increment();
+            log.debug("Petición {} {} rechazada: {} peticiones de tipo {} en curso",
+                    request.getMethod(), request.getRequestURI(), limiter.getInFlight(), route);
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, CONCURRENCY_RETRY_AFTER_SECONDS,
+                    "Servicio saturado, reintente más tarde");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limiter.release(System.nanoTime() - start, true);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            // Long polling, SSE y exportación siguen ocupando su hueco hasta que termina la respuesta;
+            // su duración depende del cliente y no se usa como muestra de latencia
+            request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter));
+        } else {
+            limiter.release(System.nanoTime() - start, response.getStatus() >= 500);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                        long retryAfterSeconds, String message) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .error(status.getReasonPhrase())
+                .timestamp(LocalDateTime.now())
+                .path(request.getRequestURI())
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private AdmissionProperties.Pool pool(RouteClass route) {
+        return switch (route) {
+            case LOOKUP -> properties.getLookup();
+            case LIST -> properties.getList();
+            case WRITE -> properties.getWrite();
+            case EXPORT -> properties.getExport();
+            case STREAM -> properties.getStream();
+        };
+    }
+
+    private static RouteClass routeOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return RouteClass.of(request.getMethod(), path);
+    }
+
+    private static long secondsCeil(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static String tag(RouteClass route) {
+        return route.name().toLowerCase();
+    }
+
+    private static class ReleaseOnCompletion implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un nuevo ciclo asíncrono vuelve a registrar los listeners; este sigue esperando al final
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(-1, false);
+            }
+        }
+    }
+}
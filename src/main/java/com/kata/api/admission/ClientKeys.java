@@ -0,0 +1,29 @@
+package com.kata.api.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+
+// Identifica al cliente para los límites por cliente y la lectura de sus propias escrituras
+public final class ClientKeys {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private ClientKeys() {
+    }
+
+    // El usuario autenticado o, si no hay, la dirección remota: nada que el cliente elija en cada petición, así
+    // que sirve de clave para los límites. Con X-Client-Id bastaría cambiar la cabecera para tener un cubo nuevo
+    // Detrás de un proxy de confianza Tomcat ya la ha sustituido por la de X-Forwarded-For (server.forward-headers-strategy)
+    public static String of(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : request.getRemoteAddr();
+    }
+
+    // Dentro de una misma identidad, los clientes detrás de un mismo proxy pueden distinguirse enviando X-Client-Id
+    public static String sessionOf(HttpServletRequest request) {
+        String identity = of(request);
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        return clientId != null && !clientId.isBlank() ? identity + "/" + clientId : identity;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kata.api.admission;
+
+import java.util.regex.Pattern;
+
+// Cada clase de ruta tiene su propio límite de concurrencia: un pico de listados no deja sin hueco
+// a las consultas baratas por id
+public enum RouteClass {
+
+    // GET por id, sugerencias, top: índices en memoria o una fila por clave
+    LOOKUP,
+    // Listados, búsquedas y agregados: recorren muchas filas
+    LIST,
+    WRITE,
+    // Exportación en streaming: ocupa una conexión durante toda la descarga
+    EXPORT,
+    // Long polling y SSE de /beers/changes: esperan sin ocupar hilos ni conexiones
+    STREAM;
+
+    private static final Pattern LIST_PATH =
+            Pattern.compile("/(beers|breweries|styles|categories)(/search|/\\d+/(beers|stats))?/?");
+    private static final Pattern EXEMPT_PATH = Pattern.compile("/(actuator|swagger-ui|v3/api-docs)(/.*|\\.html)?");
+
+    // null: la ruta no pasa por el control de admisión (health checks, documentación, preflight CORS)
+    public static RouteClass of(String method, String path) {
+        if ("OPTIONS".equals(method) || EXEMPT_PATH.matcher(path).matches()) {
+            return null;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        if (path.startsWith("/beers/changes")) {
+            return STREAM;
+        }
+        if (path.startsWith("/beers/export")) {
+            return EXPORT;
+        }
+        return LIST_PATH.matcher(path).matches() ? LIST : LOOKUP;
+    }
+}
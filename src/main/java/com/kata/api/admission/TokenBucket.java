@@ -0,0 +1,47 @@
+package com.kata.api.admission;
+
+// Cubo de fichas: se rellena a ratePerSecond hasta capacity y cada petición gasta las fichas de su ruta
+public class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, double capacity, long now) {
+        if (ratePerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("ratePerSecond debe ser positivo y capacity al menos 1");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / NANOS_PER_SECOND;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    // 0 si hay fichas suficientes (y las gasta); si no, los nanosegundos que faltan para tenerlas
+    public synchronized long tryAcquire(int cost, long now) {
+        if (cost > capacity) {
+            throw new IllegalArgumentException("El coste " + cost + " supera la capacidad del cubo");
+        }
+        refill(now);
+        if (tokens >= cost) {
+            tokens -= cost;
+            return 0;
+        }
+        return (long) Math.ceil((cost - tokens) / tokensPerNano);
+    }
+
+    public synchronized double getTokens(long now) {
+        refill(now);
+        return tokens;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+    }
+}
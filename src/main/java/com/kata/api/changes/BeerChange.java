@@ -0,0 +1,61 @@
+package com.kata.api.changes;
+
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.repository.projection.BeerSnapshot;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+// Lo que guarda el registro de cada cambio: tipo, id y solo los campos que cambian con su nuevo valor. Las altas
+// llevan los campos con valor y los borrados ninguno; una descripción que no se toca no se copia en cada cambio
+@Value
+public class BeerChange {
+
+    private static final Map<String, Function<BeerSnapshot, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("name", BeerSnapshot::getName);
+        FIELDS.put("description", BeerSnapshot::getDescription);
+        FIELDS.put("abv", BeerSnapshot::getAbv);
+        FIELDS.put("ibu", BeerSnapshot::getIbu);
+        FIELDS.put("breweryId", BeerSnapshot::getBreweryId);
+        FIELDS.put("styleId", BeerSnapshot::getStyleId);
+        FIELDS.put("categoryId", BeerSnapshot::getCategoryId);
+    }
+
+    BeerChangedEvent.Type type;
+    int beerId;
+    Map<String, Object> fields;
+
+    public static BeerChange of(BeerChangedEvent event) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        BeerSnapshot before = event.getBefore();
+        BeerSnapshot after = event.getAfter();
+        if (after != null) {
+            FIELDS.forEach((name, getter) -> {
+                Object value = getter.apply(after);
+                boolean changed = before != null ? !Objects.equals(getter.apply(before), value) : value != null;
+                if (changed) {
+                    fields.put(name, value);
+                }
+            });
+        }
+        return new BeerChange(event.getType(), event.getBeerId(), Collections.unmodifiableMap(fields));
+    }
+
+    // Compactación: el cambio que sustituye a older reúne los campos de los dos con los valores de newer, así que
+    // un alta seguida de una modificación queda como modificación con todos los campos. Los valores son absolutos:
+    // quien ya recibió older puede aplicar el resultado sin problema
+    public static BeerChange merge(BeerChange older, BeerChange newer) {
+        if (older.type == BeerChangedEvent.Type.DELETED || newer.type == BeerChangedEvent.Type.DELETED) {
+            return newer;
+        }
+        Map<String, Object> fields = new LinkedHashMap<>(older.fields);
+        fields.putAll(newer.fields);
+        return new BeerChange(newer.type, newer.beerId, Collections.unmodifiableMap(fields));
+    }
+}
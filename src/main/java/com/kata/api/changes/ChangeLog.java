@@ -0,0 +1,106 @@
+package com.kata.api.changes;
+
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+
+// Registro de cambios con número de secuencia creciente. Retiene como mucho maxEntries cambios y ninguno más
+// antiguo que maxAge; con compactación, cada clave conserva solo su último cambio, combinado con el anterior
+// mediante merge. Seguro para uso concurrente
+public class ChangeLog<T> {
+
+    private final int maxEntries;
+    private final Duration maxAge;
+    private final boolean compaction;
+    private final BinaryOperator<T> merge;
+    private final Clock clock;
+
+    private final NavigableMap<Long, Entry<T>> entries = new TreeMap<>();
+    private final Map<Integer, Long> latestByKey = new HashMap<>();
+    private long lastSequence;
+    // Última secuencia descartada por retención: un cursor anterior ya no puede recibir todos sus cambios
+    private long discardedUpTo;
+
+    public ChangeLog(int maxEntries, Duration maxAge, boolean compaction, Clock clock) {
+        this(maxEntries, maxAge, compaction, (older, newer) -> newer, clock);
+    }
+
+    // merge recibe el cambio que se descarta y el nuevo, y devuelve el que ocupa el lugar del nuevo
+    public ChangeLog(int maxEntries, Duration maxAge, boolean compaction, BinaryOperator<T> merge, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries debe ser positivo");
+        }
+        this.maxEntries = maxEntries;
+        this.maxAge = maxAge;
+        this.compaction = compaction;
+        this.merge = merge;
+        this.clock = clock;
+    }
+
+    public synchronized long append(int key, T change) {
+        long sequence = ++lastSequence;
+        if (compaction) {
+            // El cambio anterior de la misma clave queda superado: quien lo necesitaba recibirá este
+            Long previous = latestByKey.get(key);
+            if (previous != null) {
+                change = merge.apply(entries.remove(previous).getChange(), change);
+            }
+        }
+        entries.put(sequence, new Entry<>(sequence, key, clock.instant(), change));
+        latestByKey.put(key, sequence);
+        expire();
+        return sequence;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    // Hasta limit cambios posteriores a sequence, en orden. null si ya no se pueden dar todos: algún cambio
+    // posterior se descartó por retención, o la secuencia no ha existido nunca
+    public synchronized List<Entry<T>> since(long sequence, int limit) {
+        expire();
+        if (sequence < discardedUpTo || sequence > lastSequence) {
+            return null;
+        }
+        List<Entry<T>> result = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Entry<T> entry : entries.tailMap(sequence, false).values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void expire() {
+        Instant oldest = clock.instant().minus(maxAge);
+        while (!entries.isEmpty()
+                && (entries.size() > maxEntries || entries.firstEntry().getValue().getRecordedAt().isBefore(oldest))) {
+            Entry<T> discarded = entries.pollFirstEntry().getValue();
+            latestByKey.remove(discarded.getKey(), discarded.getSequence());
+            discardedUpTo = discarded.getSequence();
+        }
+    }
+
+    @Value
+    public static class Entry<T> {
+        long sequence;
+        int key;
+        Instant recordedAt;
+        T change;
+    }
+}
@@ -0,0 +1,10 @@
+package com.kata.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Control de admisión delante de los controladores (AdmissionControlFilter): límites en app.admission.*
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+}
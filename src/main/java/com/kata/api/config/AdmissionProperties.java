@@ -0,0 +1,34 @@
+package com.kata.api.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private double ratePerSecond = 50;
+    private int burst = 100;
+    private int maxClients = 100_000;
+    private Pool lookup = new Pool(50, 10, 200, 1, true);
+    private Pool list = new Pool(8, 2, 20, 5, true);
+    private Pool write = new Pool(10, 2, 20, 2, true);
+    private Pool export = new Pool(2, 2, 2, 20, false);
+    private Pool stream = new Pool(1000, 1000, 1000, 1, false);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        // Fichas del cubo del cliente que gasta cada petición
+        private int cost;
+        // Sin adaptación el límite es maxLimit
+        private boolean adaptive;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kata.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Caché de segundo nivel de Hibernate: cervecerías, estilos y categorías por id, y resultados de sus listados
+@Configuration
+public class CacheConfig {
+
+    public static final String BREWERIES = "breweries";
+    public static final String STYLES = "styles";
+    public static final String CATEGORIES = "categories";
+    public static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    public static final List<String> REFERENCE_CACHES = List.of(BREWERIES, STYLES, CATEGORIES, QUERY_RESULTS);
+
+    private static final long MAXIMUM_SIZE = 5000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(30);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        REFERENCE_CACHES.forEach(name -> cacheManager.createCache(name, boundedRegion()));
+        // Las marcas de tiempo deciden si un resultado de consulta sigue siendo válido: no pueden caducar antes que él
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> boundedRegion() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(MAXIMUM_SIZE));
+        configuration.setExpireAfterWrite(OptionalLong.of(EXPIRE_AFTER_WRITE.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kata.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Registro de cambios de cervezas (GET /beers/changes): retención y compactación en app.changes.*
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+    // Latidos y vigilancia de los envíos SSE; no envía nada, así que un cliente lento no lo bloquea
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService changeFeedExecutor() {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreads("change-feed"));
+    }
+
+    // Envíos SSE: cada suscriptor tiene como mucho una tarea en cola, y si la cola se llena se le desconecta
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService changeFeedSendExecutor(ChangeFeedProperties properties) {
+        return new ThreadPoolExecutor(properties.getSseSendThreads(), properties.getSseSendThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(properties.getSseSendQueue()),
+                daemonThreads("change-feed-send"));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.kata.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.changes")
+public class ChangeFeedProperties {
+
+    private int maxEntries = 100_000;
+    private Duration maxAge = Duration.ofHours(24);
+    private boolean compaction = true;
+    private Duration maxWait = Duration.ofSeconds(60);
+    private Duration sseTimeout = Duration.ofMinutes(30);
+    private Duration sseHeartbeat = Duration.ofSeconds(15);
+    private int sseSendThreads = 4;
+    private int sseSendQueue = 1000;
+    private Duration sseSendTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,34 @@
+package com.kata.api.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+// JSON compacto por defecto; ?pretty=true lo indenta solo para esa petición (depuración)
+public class PrettyPrintJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String PRETTY_PARAMETER = "pretty";
+
+    public PrettyPrintJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writePrefix(JsonGenerator generator, Object object) throws IOException {
+        super.writePrefix(generator, object);
+        if (isPrettyRequested()) {
+            generator.useDefaultPrettyPrinter();
+        }
+    }
+
+    private static boolean isPrettyRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                && Boolean.parseBoolean(servletAttributes.getRequest().getParameter(PRETTY_PARAMETER));
+    }
+}
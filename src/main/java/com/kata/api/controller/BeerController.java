@@ -1,7 +1,20 @@
 package com.kata.api.controller;
 
+import com.kata.api.dto.BatchResultDTO;
 import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.dto.BeerPatchDTO;
+import com.kata.api.dto.BeerSearchResultDTO;
+import com.kata.api.dto.ChangeFeedDTO;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.dto.SuggestionDTO;
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.search.PrefixSuggester;
+import com.kata.api.service.BeerChangeFeedService;
+import com.kata.api.service.BeerExportService;
+import com.kata.api.service.BeerSearchService;
 import com.kata.api.service.BeerService;
+import com.kata.api.service.Versioned;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +25,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -25,31 +45,182 @@ import java.util.List;
 @Tag(name = "Beer", description = "API para gestionar cervezas")
 public class BeerController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String CSV_VALUE = "text/csv;charset=UTF-8";
+
     private final BeerService beerService;
+    private final BeerExportService beerExportService;
+    private final BeerSearchService beerSearchService;
+    private final BeerChangeFeedService beerChangeFeedService;
 
     @GetMapping
-    @Operation(summary = "Obtener todas las cervezas", description = "Retorna una lista de todas las cervezas registradas")
+    @Operation(summary = "Obtener cervezas paginadas",
+            description = "Retorna una página de cervezas ordenada por el campo indicado y filtrada opcionalmente por rangos de ABV e IBU, cervecería, estilo, categoría y comienzo del nombre, sin descripciones y con cervecería, estilo y categoría reducidos a id y nombre. Para pedir la siguiente página se envía el cursor nextCursor de la respuesta en el parámetro after")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cervezas obtenida correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "304", description = "La página no ha cambiado respecto al ETag de If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación o filtros inválidos")
+    })
+    public ResponseEntity<CursorPageDTO<BeerDTO>> getAllBeers(
+            @Parameter(description = "Número de cervezas por página (máximo " + BeerService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + BeerService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Campo de ordenación: id, name, abv o ibu")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor en la página anterior")
+            @RequestParam(required = false) String after,
+            @ParameterObject BeerFilter filter,
+            @Parameter(description = "Incluir recuentos por estilo y categoría del conjunto filtrado")
+            @RequestParam(defaultValue = "false") boolean facets) {
+        log.info("GET /beers - Obteniendo cervezas (sort={}, size={}, filter={})", sort, size, filter);
+        CursorPageDTO<BeerDTO> page = beerService.getBeersPage(sort, after, size, filter, facets);
+        // Si coincide con If-None-Match, Spring responde 304 sin serializar la página
+        return ResponseEntity.ok().eTag(ETags.ofContent(page)).body(page);
+    }
+
+    @GetMapping("/top")
+    @Operation(summary = "Ranking de cervezas más fuertes o más amargas",
+            description = "Las cervezas con mayor ABV o IBU, de mayor a menor y a igualdad por id, opcionalmente dentro de un estilo o una categoría. Las cervezas sin ese dato no aparecen")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ranking obtenido correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerDTO.class))),
+            @ApiResponse(responseCode = "304", description = "El ranking no ha cambiado respecto al ETag de If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Campo de ranking o límite inválido")
+    })
+    public ResponseEntity<List<BeerDTO>> getTopBeers(
+            @Parameter(description = "Campo del ranking: abv o ibu")
+            @RequestParam(defaultValue = "abv") String by,
+            @Parameter(description = "Número de cervezas del ranking (máximo " + BeerService.MAX_TOP_LIMIT + ")")
+            @RequestParam(defaultValue = "" + BeerService.DEFAULT_TOP_LIMIT) int limit,
+            @Parameter(description = "ID del estilo")
+            @RequestParam(required = false) Integer styleId,
+            @Parameter(description = "ID de la categoría")
+            @RequestParam(required = false) Integer categoryId) {
+        log.info("GET /beers/top - Ranking por {} (limit={}, styleId={}, categoryId={})", by, limit, styleId, categoryId);
+        List<BeerDTO> beers = beerService.getTopBeers(by, styleId, categoryId, limit);
+        return ResponseEntity.ok().eTag(ETags.ofContent(beers)).body(beers);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Obtener cambios de cervezas desde un cursor",
+            description = "Altas, modificaciones y borrados confirmados después del cursor, en orden, con los campos que cambian y su nuevo valor (todos en las altas). Sin since solo devuelve el cursor actual: se guarda antes de descargar el catálogo y después se piden los cambios desde él. Con wait la petición espera hasta ese número de segundos a que haya algún cambio (long polling)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cambios obtenidos correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeFeedDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor, límite o espera inválidos"),
+            @ApiResponse(responseCode = "410", description = "El cursor ya no está en el registro: hay que descargar de nuevo el catálogo")
+    })
+    public DeferredResult<ChangeFeedDTO> getChanges(
+            @Parameter(description = "Cursor devuelto como nextCursor en la respuesta anterior")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Número máximo de cambios (máximo " + BeerChangeFeedService.MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "" + BeerChangeFeedService.DEFAULT_LIMIT) int limit,
+            @Parameter(description = "Segundos de espera si todavía no hay cambios")
+            @RequestParam(defaultValue = "0") int wait) {
+        log.debug("GET /beers/changes - Cambios desde {} (wait={}s)", since, wait);
+        return beerChangeFeedService.getChanges(since, limit, Duration.ofSeconds(wait));
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los cambios de cervezas (Server-Sent Events)",
+            description = "Envía como eventos change los cambios posteriores al cursor y después cada cambio nuevo. El id de cada evento es su cursor, así que al reconectar se continúa desde Last-Event-ID. Si el cliente se queda atrás más de lo que guarda el registro recibe un evento expired")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suscripción abierta"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "410", description = "El cursor ya no está en el registro: hay que descargar de nuevo el catálogo")
+    })
+    public SseEmitter streamChanges(
+            @Parameter(description = "Cursor desde el que empezar; sin él, solo los cambios nuevos")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Id del último evento recibido; lo envía el navegador al reconectar y tiene prioridad sobre since")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("GET /beers/changes/stream - Suscripción desde {}", lastEventId != null ? lastEventId : since);
+        return beerChangeFeedService.streamChanges(lastEventId != null ? lastEventId : since);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar el catálogo de cervezas",
+            description = "Devuelve todas las cervezas en streaming, en NDJSON (una cerveza por línea) o CSV, con las relaciones como ids")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación en curso",
+                    content = {@Content(mediaType = NDJSON_VALUE), @Content(mediaType = CSV_VALUE)}),
+            @ApiResponse(responseCode = "400", description = "Formato no soportado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportBeers(
+            @Parameter(description = "Formato de exportación: ndjson o csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("GET /beers/export - Exportando cervezas en {}", format);
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                    .body(beerExportService::exportNdjson);
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(CSV_VALUE))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"beers.csv\"")
+                    .body(beerExportService::exportCsv);
+            default -> throw new BadRequestException("Formato de exportación no soportado: " + format);
+        };
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar cervezas",
+            description = "Búsqueda de texto completo en nombre, descripción, cervecería y estilo. Devuelve las cervezas que contienen todas las palabras, ordenadas por relevancia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados de la búsqueda",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerSearchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Búsqueda vacía o paginación inválida")
+    })
+    public ResponseEntity<BeerSearchResultDTO> searchBeers(
+            @Parameter(description = "Texto a buscar")
+            @RequestParam String q,
+            @Parameter(description = "Número de resultados a saltar")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Número máximo de resultados (máximo " + BeerSearchService.MAX_LIMIT + ")")
+            @RequestParam(defaultValue = "" + BeerSearchService.DEFAULT_LIMIT) int limit) {
+        log.info("GET /beers/search - Buscando cervezas: {}", q);
+        return ResponseEntity.ok(beerSearchService.search(q, offset, limit));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir nombres de cervezas",
+            description = "Autocompletado: cervezas cuyo nombre, o alguna de sus primeras palabras, empieza por el prefijo (sin distinguir mayúsculas ni acentos). Primero las que empiezan por él y después los nombres más cortos")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cervezas obtenida correctamente",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuggestionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Prefijo vacío o límite inválido")
     })
-    public ResponseEntity<List<BeerDTO>> getAllBeers() {
-        log.info("GET /beers - Obteniendo todas las cervezas");
-        return ResponseEntity.ok(beerService.getAllBeers());
+    public ResponseEntity<List<SuggestionDTO>> suggestBeers(
+            @Parameter(description = "Comienzo del nombre escrito hasta ahora")
+            @RequestParam String prefix,
+            @Parameter(description = "Número máximo de sugerencias (máximo " + PrefixSuggester.MAX_SUGGESTIONS + ")")
+            @RequestParam(defaultValue = "" + PrefixSuggester.MAX_SUGGESTIONS) int limit) {
+        log.debug("GET /beers/suggest - Sugerencias para: {}", prefix);
+        return ResponseEntity.ok(beerSearchService.suggest(prefix, limit));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener cerveza por ID", description = "Retorna los detalles de una cerveza específica")
+    @Operation(summary = "Obtener cerveza por ID", description = "Retorna los detalles de una cerveza específica con su versión en la cabecera ETag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cerveza encontrada",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerDTO.class))),
+            @ApiResponse(responseCode = "304", description = "La cerveza no ha cambiado respecto al ETag de If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Cerveza no encontrada")
     })
     public ResponseEntity<BeerDTO> getBeerById(
             @Parameter(description = "ID de la cerveza")
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @Parameter(description = "ETag de una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("GET /beers/{} - Obteniendo cerveza", id);
-        return ResponseEntity.ok(beerService.getBeerById(id));
+        // Con If-None-Match basta con leer la versión: si coincide no se carga ni se serializa la cerveza
+        if (ifNoneMatch != null) {
+            String etag = ETags.ofVersion(beerService.getBeerVersion(id));
+            if (ETags.matchesAny(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        Versioned<BeerDTO> beer = beerService.getVersionedBeerById(id);
+        return ResponseEntity.ok().eTag(ETags.ofVersion(beer.getVersion())).body(beer.getBody());
     }
 
     @PostMapping
@@ -66,20 +237,42 @@ public class BeerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Crear cervezas en lote",
+            description = "Crea hasta " + BeerService.MAX_BATCH_SIZE + " cervezas en una sola transacción. Cada elemento se valida por separado y la respuesta indica el resultado de cada uno")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Todas las cervezas se crearon correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "207", description = "Algunas cervezas no se pudieron crear",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")
+    })
+    public ResponseEntity<BatchResultDTO> createBeers(
+            @RequestBody List<BeerDTO> beerDTOs) {
+        log.info("POST /beers/batch - Creando lote de {} cervezas", beerDTOs.size());
+        BatchResultDTO result = beerService.createBeers(beerDTOs);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar cerveza", description = "Actualiza completamente una cerveza existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cerveza actualizada correctamente",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerDTO.class))),
             @ApiResponse(responseCode = "404", description = "Cerveza no encontrada"),
-            @ApiResponse(responseCode = "400", description = "Datos inválidos")
+            @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+            @ApiResponse(responseCode = "412", description = "La cerveza ha cambiado desde el ETag de If-Match")
     })
     public ResponseEntity<BeerDTO> updateBeer(
             @Parameter(description = "ID de la cerveza")
             @PathVariable Integer id,
+            @Parameter(description = "ETag de la versión que se quiere sobrescribir")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody BeerDTO beerDTO) {
         log.info("PUT /beers/{} - Actualizando cerveza", id);
-        return ResponseEntity.ok(beerService.updateBeer(id, beerDTO));
+        Versioned<BeerDTO> updated = beerService.updateBeer(id, beerDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.ofVersion(updated.getVersion())).body(updated.getBody());
     }
 
     @PatchMapping("/{id}")
@@ -88,27 +281,53 @@ public class BeerController {
             @ApiResponse(responseCode = "200", description = "Cerveza actualizada parcialmente",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerDTO.class))),
             @ApiResponse(responseCode = "404", description = "Cerveza no encontrada"),
-            @ApiResponse(responseCode = "400", description = "Datos inválidos")
+            @ApiResponse(responseCode = "400", description = "Datos inválidos"),
+            @ApiResponse(responseCode = "412", description = "La cerveza ha cambiado desde el ETag de If-Match")
     })
     public ResponseEntity<BeerDTO> partialUpdateBeer(
             @Parameter(description = "ID de la cerveza")
             @PathVariable Integer id,
+            @Parameter(description = "ETag de la versión que se quiere modificar")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody BeerDTO beerDTO) {
         log.info("PATCH /beers/{} - Actualización parcial de cerveza", id);
-        return ResponseEntity.ok(beerService.partialUpdateBeer(id, beerDTO));
+        Versioned<BeerDTO> updated = beerService.partialUpdateBeer(id, beerDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.ofVersion(updated.getVersion())).body(updated.getBody());
+    }
+
+    @PatchMapping("/batch")
+    @Operation(summary = "Actualización parcial de cervezas en lote",
+            description = "Aplica hasta " + BeerService.MAX_BATCH_SIZE + " actualizaciones parciales {id, version, changes} en una sola transacción, con la misma semántica que PATCH /beers/{id}. La respuesta indica el resultado y la nueva versión de cada una")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Todas las cervezas se actualizaron correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "207", description = "Algunas cervezas no se pudieron actualizar",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResultDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+            @ApiResponse(responseCode = "412", description = "Otra petición modificó alguna de las cervezas durante el lote")
+    })
+    public ResponseEntity<BatchResultDTO> partialUpdateBeers(
+            @RequestBody List<BeerPatchDTO> patches) {
+        log.info("PATCH /beers/batch - Actualizando lote de {} cervezas", patches.size());
+        BatchResultDTO result = beerService.partialUpdateBeers(patches);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Eliminar cerveza", description = "Elimina una cerveza de la base de datos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Cerveza eliminada correctamente"),
-            @ApiResponse(responseCode = "404", description = "Cerveza no encontrada")
+            @ApiResponse(responseCode = "404", description = "Cerveza no encontrada"),
+            @ApiResponse(responseCode = "412", description = "La cerveza ha cambiado desde el ETag de If-Match")
     })
     public ResponseEntity<Void> deleteBeer(
             @Parameter(description = "ID de la cerveza")
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @Parameter(description = "ETag de la versión que se quiere eliminar")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("DELETE /beers/{} - Eliminando cerveza", id);
-        beerService.deleteBeer(id);
+        beerService.deleteBeer(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,6 +1,12 @@
 package com.kata.api.controller;
 
+import com.kata.api.dto.BeerDTO;
 import com.kata.api.dto.BreweryDTO;
+import com.kata.api.dto.BreweryStatsDTO;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.dto.SuggestionDTO;
+import com.kata.api.search.PrefixSuggester;
+import com.kata.api.service.BeerService;
 import com.kata.api.service.BreweryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,14 +32,44 @@ public class BreweryController {
     private final BreweryService breweryService;
 
     @GetMapping
-    @Operation(summary = "Obtener todas las cervecerías", description = "Retorna una lista de todas las cervecerías registradas")
+    @Operation(summary = "Obtener cervecerías paginadas",
+            description = "Retorna una página de cervecerías ordenada por nombre, filtrada opcionalmente por país, ciudad y comienzo del nombre (sin distinguir mayúsculas ni acentos). Para pedir la siguiente página se envía el cursor nextCursor de la respuesta en el parámetro after")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de cervecerías obtenida correctamente",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BreweryDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Página de cervecerías obtenida correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos")
     })
-    public ResponseEntity<List<BreweryDTO>> getAllBreweries() {
-        log.info("GET /breweries - Obteniendo todas las cervecerías");
-        return ResponseEntity.ok(breweryService.getAllBreweries());
+    public ResponseEntity<CursorPageDTO<BreweryDTO>> getBreweries(
+            @Parameter(description = "País de la cervecería")
+            @RequestParam(required = false) String country,
+            @Parameter(description = "Ciudad de la cervecería")
+            @RequestParam(required = false) String city,
+            @Parameter(description = "Comienzo del nombre de la cervecería")
+            @RequestParam(required = false) String namePrefix,
+            @Parameter(description = "Número de cervecerías por página (máximo " + BreweryService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + BreweryService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor en la página anterior")
+            @RequestParam(required = false) String after) {
+        log.info("GET /breweries - Obteniendo cervecerías (country={}, city={}, namePrefix={}, size={})",
+                country, city, namePrefix, size);
+        return ResponseEntity.ok(breweryService.getBreweries(country, city, namePrefix, after, size));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Sugerir nombres de cervecerías",
+            description = "Autocompletado: cervecerías cuyo nombre, o alguna de sus primeras palabras, empieza por el prefijo (sin distinguir mayúsculas ni acentos). Primero las que empiezan por él y después los nombres más cortos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SuggestionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Prefijo vacío o límite inválido")
+    })
+    public ResponseEntity<List<SuggestionDTO>> suggestBreweries(
+            @Parameter(description = "Comienzo del nombre escrito hasta ahora")
+            @RequestParam String prefix,
+            @Parameter(description = "Número máximo de sugerencias (máximo " + PrefixSuggester.MAX_SUGGESTIONS + ")")
+            @RequestParam(defaultValue = "" + PrefixSuggester.MAX_SUGGESTIONS) int limit) {
+        log.debug("GET /breweries/suggest - Sugerencias para: {}", prefix);
+        return ResponseEntity.ok(breweryService.suggest(prefix, limit));
     }
 
     @GetMapping("/{id}")
@@ -49,5 +85,41 @@ public class BreweryController {
         log.info("GET /breweries/{} - Obteniendo cervecería", id);
         return ResponseEntity.ok(breweryService.getBreweryById(id));
     }
-}
 
+    @GetMapping("/{id}/beers")
+    @Operation(summary = "Obtener las cervezas de una cervecería",
+            description = "Retorna una página de cervezas de la cervecería, con la misma ordenación y cursor que GET /beers")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de cervezas obtenida correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
+            @ApiResponse(responseCode = "404", description = "Cervecería no encontrada")
+    })
+    public ResponseEntity<CursorPageDTO<BeerDTO>> getBreweryBeers(
+            @Parameter(description = "ID de la cervecería")
+            @PathVariable Integer id,
+            @Parameter(description = "Número de cervezas por página (máximo " + BeerService.MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + BeerService.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Campo de ordenación: id, name, abv o ibu")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Cursor opaco devuelto como nextCursor en la página anterior")
+            @RequestParam(required = false) String after) {
+        log.info("GET /breweries/{}/beers - Obteniendo cervezas de la cervecería (sort={}, size={})", id, sort, size);
+        return ResponseEntity.ok(breweryService.getBreweryBeers(id, sort, after, size));
+    }
+
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Obtener estadísticas de una cervecería",
+            description = "Retorna el número de cervezas, el ABV e IBU medios y el reparto por estilos de la cervecería. Se mantienen en memoria y se actualizan con cada alta, cambio o baja de cerveza")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BreweryStatsDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Cervecería no encontrada")
+    })
+    public ResponseEntity<BreweryStatsDTO> getBreweryStats(
+            @Parameter(description = "ID de la cervecería")
+            @PathVariable Integer id) {
+        log.info("GET /breweries/{}/stats - Obteniendo estadísticas de la cervecería", id);
+        return ResponseEntity.ok(breweryService.getBreweryStats(id));
+    }
+}
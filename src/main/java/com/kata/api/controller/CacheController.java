@@ -0,0 +1,63 @@
+package com.kata.api.controller;
+
+import com.kata.api.dto.CacheStatsDTO;
+import com.kata.api.service.ReferenceDataCacheService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/caches")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "API para consultar e invalidar las cachés de cervecerías, estilos y categorías")
+public class CacheController {
+
+    private final ReferenceDataCacheService referenceDataCacheService;
+
+    @GetMapping
+    @Operation(summary = "Obtener estadísticas de las cachés", description = "Retorna tamaño, aciertos, fallos e inserciones de cada región de la caché de segundo nivel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatsDTO.class)))
+    })
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        log.info("GET /caches - Obteniendo estadísticas de cachés");
+        return ResponseEntity.ok(referenceDataCacheService.getStats());
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Invalidar todas las cachés", description = "Vacía todas las regiones de la caché de segundo nivel, incluidos los resultados de consultas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cachés invalidadas correctamente")
+    })
+    public ResponseEntity<Void> evictAllCaches() {
+        log.info("DELETE /caches - Invalidando todas las cachés");
+        referenceDataCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{name}")
+    @Operation(summary = "Invalidar una caché", description = "Vacía la caché indicada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Caché invalidada correctamente"),
+            @ApiResponse(responseCode = "404", description = "Caché no encontrada")
+    })
+    public ResponseEntity<Void> evictCache(
+            @Parameter(description = "Nombre de la caché")
+            @PathVariable String name) {
+        log.info("DELETE /caches/{} - Invalidando caché", name);
+        referenceDataCacheService.evict(name);
+        return ResponseEntity.noContent().build();
+    }
+}
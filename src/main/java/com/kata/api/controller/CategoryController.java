@@ -1,5 +1,6 @@
 package com.kata.api.controller;
 
+import com.kata.api.dto.BeerStatsDTO;
 import com.kata.api.dto.CategoryDTO;
 import com.kata.api.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -49,5 +50,19 @@ public class CategoryController {
         log.info("GET /categories/{} - Obteniendo categoría", id);
         return ResponseEntity.ok(categoryService.getCategoryById(id));
     }
-}
 
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Obtener estadísticas de la categoría",
+            description = "Retorna el número de cervezas de la categoría y, para ABV e IBU, la media, percentiles aproximados e histograma de cubetas fijas. Se mantienen en memoria y se actualizan con cada alta, cambio o baja de cerveza")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerStatsDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Categoría no encontrada")
+    })
+    public ResponseEntity<BeerStatsDTO> getCategoryStats(
+            @Parameter(description = "ID de la categoría")
+            @PathVariable Integer id) {
+        log.info("GET /categories/{}/stats - Obteniendo estadísticas de la categoría", id);
+        return ResponseEntity.ok(categoryService.getCategoryStats(id));
+    }
+}
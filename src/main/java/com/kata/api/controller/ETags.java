@@ -0,0 +1,57 @@
+package com.kata.api.controller;
+
+import com.kata.api.exception.BadRequestException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// ETags de las respuestas de cervezas: fuertes a partir de @Version para una cerveza, débiles por contenido para los listados
+final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final String ANY = "*";
+
+    private ETags() {
+    }
+
+    static String ofVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // El listado no tiene una versión propia: se resume su contenido, que ya incluye los nombres de las referencias
+    static String ofContent(Object body) {
+        return WEAK_PREFIX + "\"" + DigestUtils.md5DigestAsHex(String.valueOf(body).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Comparación débil de If-None-Match: ignora el prefijo W/ y admite listas y "*"
+    static boolean matchesAny(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String expected = stripWeak(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals(ANY) || stripWeak(candidate).equals(expected));
+    }
+
+    // If-Match con la versión esperada; null si no hay cabecera o es "*" (basta con que la cerveza exista)
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals(ANY)) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith(WEAK_PREFIX) || value.contains(",")) {
+            throw new BadRequestException("If-Match debe contener un único ETag fuerte: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(value.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("ETag no válido en If-Match: " + ifMatch);
+        }
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kata.api.controller;
 
+import com.kata.api.dto.BeerStatsDTO;
 import com.kata.api.dto.StyleDTO;
 import com.kata.api.service.StyleService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -49,5 +50,19 @@ public class StyleController {
         log.info("GET /styles/{} - Obteniendo estilo", id);
         return ResponseEntity.ok(styleService.getStyleById(id));
     }
-}
 
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Obtener estadísticas del estilo",
+            description = "Retorna el número de cervezas del estilo y, para ABV e IBU, la media, percentiles aproximados e histograma de cubetas fijas. Se mantienen en memoria y se actualizan con cada alta, cambio o baja de cerveza")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = BeerStatsDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Estilo no encontrado")
+    })
+    public ResponseEntity<BeerStatsDTO> getStyleStats(
+            @Parameter(description = "ID del estilo")
+            @PathVariable Integer id) {
+        log.info("GET /styles/{}/stats - Obteniendo estadísticas del estilo", id);
+        return ResponseEntity.ok(styleService.getStyleStats(id));
+    }
+}
@@ -0,0 +1,25 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String INVALID = "INVALID";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String PRECONDITION_FAILED = "PRECONDITION_FAILED";
+
+    private Integer index;
+    private Integer id;
+    private Long version;
+    private String status;
+    private String message;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,17 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResultDTO {
+
+    private Integer total;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BatchItemResultDTO> results;
+}
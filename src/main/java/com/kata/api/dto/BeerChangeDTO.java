@@ -0,0 +1,24 @@
+package com.kata.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerChangeDTO {
+
+    // Posición de este cambio: sirve como since para continuar justo después
+    private String cursor;
+    private String type;
+    private Integer beerId;
+    private LocalDateTime changedAt;
+    // Campos que cambian con su nuevo valor, con las relaciones como ids: en las altas todos los que tienen valor,
+    // y null en los borrados. Un campo que pasa a null sí aparece, por eso no se omiten los valores nulos
+    @JsonInclude(value = JsonInclude.Include.NON_NULL, content = JsonInclude.Include.ALWAYS)
+    private Map<String, Object> fields;
+}
@@ -0,0 +1,35 @@
+package com.kata.api.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerFilter {
+
+    @Parameter(description = "ABV mínimo (incluido)")
+    private Double abvMin;
+
+    @Parameter(description = "ABV máximo (incluido)")
+    private Double abvMax;
+
+    @Parameter(description = "IBU mínimo (incluido)")
+    private Double ibuMin;
+
+    @Parameter(description = "IBU máximo (incluido)")
+    private Double ibuMax;
+
+    @Parameter(description = "ID de la cervecería")
+    private Integer breweryId;
+
+    @Parameter(description = "ID del estilo")
+    private Integer styleId;
+
+    @Parameter(description = "ID de la categoría")
+    private Integer categoryId;
+
+    @Parameter(description = "Comienzo del nombre de la cerveza")
+    private String namePrefix;
+}
@@ -0,0 +1,18 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerPatchDTO {
+
+    private Integer id;
+
+    // Versión esperada, como el If-Match de PATCH /beers/{id}; sin ella no se comprueba
+    private Long version;
+
+    // Solo se aplican los campos no nulos
+    private BeerDTO changes;
+}
@@ -0,0 +1,20 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BeerSearchHitDTO {
+
+    private Integer id;
+    private String name;
+    private Double abv;
+    private Double ibu;
+    private Integer breweryId;
+    private String breweryName;
+    private Integer styleId;
+    private String styleName;
+    private Float score;
+}
@@ -0,0 +1,18 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerSearchResultDTO {
+
+    private String query;
+    private Integer total;
+    private Integer offset;
+    private Integer limit;
+    private List<BeerSearchHitDTO> items;
+}
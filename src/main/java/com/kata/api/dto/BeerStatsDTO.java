@@ -0,0 +1,16 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerStatsDTO {
+
+    private Integer id;
+    private String name;
+    private Long beerCount;
+    private DistributionDTO abv;
+    private DistributionDTO ibu;
+}
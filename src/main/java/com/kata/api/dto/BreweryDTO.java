@@ -28,7 +28,7 @@ public class BreweryDTO {
             message = "El teléfono debe tener un formato válido")
     private String phone;
 
-    @URL(message = "El sitio web debe ser una URL válida")
+    @Pattern(regexp = "^(https?://[^\\s/$.?#][^\\s]*)?$", message = "El sitio web debe ser una URL válida")
     private String website;
 
     @Size(max = 2000, message = "La descripción no puede exceder 2000 caracteres")
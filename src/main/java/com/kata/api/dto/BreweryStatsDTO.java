@@ -0,0 +1,18 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BreweryStatsDTO {
+
+    private Integer breweryId;
+    private Long beerCount;
+    private Double averageAbv;
+    private Double averageIbu;
+    private List<FacetCountDTO> styles;
+}
@@ -0,0 +1,13 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryDTO {
+    private Integer id;
+    private String name;
+    private String description;
+}
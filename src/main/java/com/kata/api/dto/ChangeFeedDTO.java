@@ -0,0 +1,17 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedDTO {
+
+    private List<BeerChangeDTO> changes;
+    // Se envía como since en la siguiente petición, haya cambios o no
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -0,0 +1,21 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+    private Integer size;
+    private String sort;
+    private String nextCursor;
+    private Boolean hasNext;
+    // Recuentos opcionales sobre todo el conjunto filtrado, no solo sobre la página
+    private Map<String, List<FacetCountDTO>> facets;
+}
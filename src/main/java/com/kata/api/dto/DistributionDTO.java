@@ -0,0 +1,19 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistributionDTO {
+
+    private Long count;
+    private Double mean;
+    // Percentiles aproximados (p25, p50, p75, p90, p99) interpolados sobre el histograma
+    private Map<String, Double> quantiles;
+    private List<HistogramBucketDTO> buckets;
+}
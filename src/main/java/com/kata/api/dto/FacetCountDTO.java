@@ -0,0 +1,14 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetCountDTO {
+
+    private Integer id;
+    private String name;
+    private Long count;
+}
@@ -0,0 +1,15 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HistogramBucketDTO {
+
+    // Límite inferior incluido y superior excluido; el último cubo no tiene límite superior
+    private Double from;
+    private Double to;
+    private Long count;
+}
@@ -0,0 +1,15 @@
+package com.kata.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StyleDTO {
+    private Integer id;
+    private String name;
+    private String description;
+    private Integer categoryId;
+    private CategoryDTO category;
+}
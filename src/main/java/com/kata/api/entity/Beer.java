@@ -2,15 +2,37 @@ package com.kata.api.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "beers")
+@Table(name = "beers", indexes = {
+        // Filtros y ordenaciones del listado (GET /beers); los ids por estilo y categoría van con abv para rangos dentro de cada uno
+        @Index(name = "idx_beers_name", columnList = "name"),
+        @Index(name = "idx_beers_abv", columnList = "abv"),
+        @Index(name = "idx_beers_ibu", columnList = "ibu"),
+        @Index(name = "idx_beers_brewery", columnList = "brewery_id"),
+        @Index(name = "idx_beers_style_abv", columnList = "style_id, abv"),
+        @Index(name = "idx_beers_category_abv", columnList = "category_id, abv")
+})
+@NamedEntityGraph(name = Beer.WITH_ASSOCIATIONS,
+        attributeNodes = {
+                @NamedAttributeNode("brewery"),
+                @NamedAttributeNode(value = "style", subgraph = "style-category"),
+                @NamedAttributeNode("category")
+        },
+        subgraphs = @NamedSubgraph(name = "style-category", attributeNodes = @NamedAttributeNode("category")))
+// Los UPDATE solo llevan las columnas modificadas (más la versión); un PATCH de abv no reescribe la descripción
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Beer {
 
+    // Grafo para cargar en una sola consulta todo lo que necesita BeerDTO
+    public static final String WITH_ASSOCIATIONS = "Beer.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -27,16 +49,22 @@ public class Beer {
     @Column(name = "ibu")
     private Double ibu;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "brewery_id")
     private Brewery brewery;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "style_id")
     private Style style;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
+
+    // Control de concurrencia optimista; también es el ETag de la cerveza
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
 
@@ -1,10 +1,20 @@
 package com.kata.api.entity;
 
+import com.kata.api.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "breweries")
+@Table(name = "breweries", indexes = {
+        // Búsqueda de cervecerías por ubicación y nombre (GET /breweries); el nombre completa el orden del listado
+        @Index(name = "idx_breweries_country_city_name", columnList = "country, city, name"),
+        @Index(name = "idx_breweries_city_name", columnList = "city, name"),
+        @Index(name = "idx_breweries_name", columnList = "name")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.BREWERIES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
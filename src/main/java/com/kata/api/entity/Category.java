@@ -1,10 +1,15 @@
 package com.kata.api.entity;
 
+import com.kata.api.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.CATEGORIES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
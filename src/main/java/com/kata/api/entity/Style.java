@@ -1,10 +1,15 @@
 package com.kata.api.entity;
 
+import com.kata.api.config.CacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "styles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.STYLES)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +26,7 @@ public class Style {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 }
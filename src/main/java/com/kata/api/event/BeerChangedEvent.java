@@ -0,0 +1,34 @@
+package com.kata.api.event;
+
+import com.kata.api.repository.projection.BeerSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Lo publica BeerService en cada escritura; before es null en las altas, y los borrados (un DELETE directo) solo llevan el id
+@Getter
+@AllArgsConstructor
+public class BeerChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Integer beerId;
+    private final BeerSnapshot before;
+    private final BeerSnapshot after;
+
+    public static BeerChangedEvent created(BeerSnapshot after) {
+        return new BeerChangedEvent(Type.CREATED, after.getId(), null, after);
+    }
+
+    public static BeerChangedEvent updated(BeerSnapshot before, BeerSnapshot after) {
+        return new BeerChangedEvent(Type.UPDATED, after.getId(), before, after);
+    }
+
+    public static BeerChangedEvent deleted(Integer beerId) {
+        return new BeerChangedEvent(Type.DELETED, beerId, null, null);
+    }
+}
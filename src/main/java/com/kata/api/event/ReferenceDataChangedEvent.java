@@ -0,0 +1,17 @@
+package com.kata.api.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Lo publica ReferenceDataCacheService al invalidar cachés (DELETE /caches o tras una importación): los índices
+// en memoria construidos a partir de esos datos se reconstruyen. region es null cuando se invalidan todas
+@Getter
+@RequiredArgsConstructor
+public class ReferenceDataChangedEvent {
+
+    private final String region;
+
+    public boolean affects(String name) {
+        return region == null || region.equals(name);
+    }
+}
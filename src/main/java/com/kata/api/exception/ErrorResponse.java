@@ -0,0 +1,17 @@
+package com.kata.api.exception;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorResponse {
+    private int status;
+    private String message;
+    private String error;
+    private LocalDateTime timestamp;
+    private String path;
+}
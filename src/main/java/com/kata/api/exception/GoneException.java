@@ -0,0 +1,8 @@
+package com.kata.api.exception;
+
+public class GoneException extends RuntimeException {
+
+    public GoneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,139 @@
+package com.kata.api.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Lee las tuplas de las sentencias INSERT de un volcado de mysqldump sin cargar el fichero ni las líneas completas en memoria
+public class MySqlDumpParser {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader in;
+    private int peeked = -2;
+
+    public MySqlDumpParser(Reader source) {
+        this.in = new BufferedReader(source, BUFFER_SIZE);
+    }
+
+    // Entrega cada fila de `table` como lista de valores en texto (null para NULL) y devuelve cuántas ha leído
+    public long parse(String table, Consumer<List<String>> rowConsumer) throws IOException {
+        String statementStart = "INSERT INTO `" + table + "` VALUES ";
+        long rows = 0;
+        while (peek() != -1) {
+            if (consume(statementStart)) {
+                rows += readTuples(rowConsumer);
+            }
+            skipLine();
+        }
+        return rows;
+    }
+
+    private long readTuples(Consumer<List<String>> rowConsumer) throws IOException {
+        long rows = 0;
+        while (true) {
+            expect('(');
+            List<String> values = new ArrayList<>();
+            int separator;
+            do {
+                values.add(readValue());
+                separator = read();
+            } while (separator == ',');
+            if (separator != ')') {
+                throw new IOException("Se esperaba ')' al final de la fila " + (rows + 1));
+            }
+            rowConsumer.accept(values);
+            rows++;
+
+            int next = read();
+            if (next == ';') {
+                return rows;
+            }
+            if (next != ',') {
+                throw new IOException("Se esperaba ',' o ';' tras la fila " + rows);
+            }
+        }
+    }
+
+    private String readValue() throws IOException {
+        if (peek() != '\'') {
+            StringBuilder token = new StringBuilder();
+            while (peek() != ',' && peek() != ')' && peek() != -1) {
+                token.append((char) read());
+            }
+            String value = token.toString().trim();
+            return "NULL".equalsIgnoreCase(value) ? null : value;
+        }
+
+        read();
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IOException("Cadena sin cerrar en el volcado");
+            }
+            if (c == '\\') {
+                value.append(unescape(read()));
+            } else if (c == '\'') {
+                // '' dentro de una cadena es una comilla escapada
+                if (peek() != '\'') {
+                    return value.toString();
+                }
+                value.append((char) read());
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+
+    private static char unescape(int c) {
+        return switch (c) {
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case '0' -> '\0';
+            case 'Z' -> (char) 26;
+            default -> (char) c;
+        };
+    }
+
+    private boolean consume(String expected) throws IOException {
+        for (int i = 0; i < expected.length(); i++) {
+            if (peek() != expected.charAt(i)) {
+                return false;
+            }
+            read();
+        }
+        return true;
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = read();
+        if (c != expected) {
+            throw new IOException("Se esperaba '" + expected + "' en el volcado");
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != '\n' && c != -1);
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+}
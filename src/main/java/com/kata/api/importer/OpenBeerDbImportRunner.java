@@ -0,0 +1,35 @@
+package com.kata.api.importer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// Se activa con el perfil "import": mvn spring-boot:run -Dspring-boot.run.profiles=import
+@Slf4j
+@Component
+@Profile("import")
+@RequiredArgsConstructor
+public class OpenBeerDbImportRunner implements ApplicationRunner {
+
+    private final OpenBeerDbImporter importer;
+
+    @Value("${app.import.directory:initSQL}")
+    private String directory;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long start = System.nanoTime();
+        List<OpenBeerDbImporter.ImportStats> stats = importer.importAll(Path.of(directory));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long rows = stats.stream().mapToLong(OpenBeerDbImporter.ImportStats::getRows).sum();
+        log.info("Importación completada: {} filas en {} ms ({} filas/s)",
+                rows, elapsedMillis, elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows);
+    }
+}
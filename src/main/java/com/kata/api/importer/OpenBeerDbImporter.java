@@ -0,0 +1,161 @@
+package com.kata.api.importer;
+
+import com.kata.api.service.ReferenceDataCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// Carga los volcados de Open Beer DB (initSQL/*.sql) en el esquema actual de las entidades.
+// Las filas se escriben con INSERT ... ON DUPLICATE KEY UPDATE por id, así que se puede volver a ejecutar.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenBeerDbImporter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String UPSERT_CATEGORY = "INSERT INTO categories (id, name) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name)";
+    private static final String UPSERT_STYLE = "INSERT INTO styles (id, name, category_id) VALUES (?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name), category_id = VALUES(category_id)";
+    private static final String UPSERT_BREWERY = "INSERT INTO breweries "
+            + "(id, name, address, city, country, phone, website, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name), address = VALUES(address), city = VALUES(city), "
+            + "country = VALUES(country), phone = VALUES(phone), website = VALUES(website), description = VALUES(description)";
+    private static final String UPSERT_BEER = "INSERT INTO beers "
+            + "(id, name, description, abv, ibu, brewery_id, style_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), abv = VALUES(abv), "
+            + "ibu = VALUES(ibu), brewery_id = VALUES(brewery_id), style_id = VALUES(style_id), category_id = VALUES(category_id), "
+            + "version = version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataCacheService referenceDataCacheService;
+
+    public List<ImportStats> importAll(Path directory) throws IOException {
+        // Orden de dependencias: cada tabla solo referencia ids de las ya importadas
+        Set<Integer> categoryIds = new HashSet<>();
+        Set<Integer> styleIds = new HashSet<>();
+        Set<Integer> breweryIds = new HashSet<>();
+        List<ImportStats> stats = new ArrayList<>();
+
+        // categories: id, cat_name, last_mod
+        stats.add(importTable(directory.resolve("categories.sql"), "categories", UPSERT_CATEGORY, row -> {
+            categoryIds.add(toInt(row.get(0)));
+            return new Object[]{toInt(row.get(0)), truncate(row.get(1), 100)};
+        }));
+
+        // styles: id, cat_id, style_name, last_mod
+        stats.add(importTable(directory.resolve("styles.sql"), "styles", UPSERT_STYLE, row -> {
+            styleIds.add(toInt(row.get(0)));
+            return new Object[]{toInt(row.get(0)), truncate(row.get(2), 100), reference(row.get(1), categoryIds)};
+        }));
+
+        // breweries: id, name, address1, address2, city, state, code, country, phone, website, filepath, descript, ...
+        stats.add(importTable(directory.resolve("breweries.sql"), "breweries", UPSERT_BREWERY, row -> {
+            breweryIds.add(toInt(row.get(0)));
+            return new Object[]{toInt(row.get(0)), truncate(row.get(1), 100),
+                    truncate(join(row.get(2), row.get(3)), 255), truncate(row.get(4), 100), truncate(row.get(7), 100),
+                    truncate(row.get(8), 20), truncate(row.get(9), 255), emptyToNull(row.get(11))};
+        }));
+
+        // beers: id, brewery_id, name, cat_id, style_id, abv, ibu, srm, upc, filepath, descript, ...
+        stats.add(importTable(directory.resolve("beers.sql"), "beers", UPSERT_BEER, row -> new Object[]{
+                toInt(row.get(0)), truncate(row.get(2), 150), emptyToNull(row.get(10)),
+                measure(row.get(5)), measure(row.get(6)),
+                reference(row.get(1), breweryIds), reference(row.get(4), styleIds), reference(row.get(3), categoryIds)}));
+
+        // Las filas se escriben por JDBC, sin pasar por Hibernate: la caché de segundo nivel y los índices
+        // de cervecerías se refrescan al invalidarla
+        referenceDataCacheService.evictAll();
+        return stats;
+    }
+
+    private ImportStats importTable(Path file, String table, String sql, Function<List<String>, Object[]> mapper) throws IOException {
+        log.info("Importando {} desde {}", table, file);
+        long start = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        long rows;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            rows = new MySqlDumpParser(reader).parse(table, row -> {
+                batch.add(mapper.apply(row));
+                if (batch.size() == BATCH_SIZE) {
+                    flush(sql, batch);
+                }
+            });
+        }
+        flush(sql, batch);
+
+        ImportStats stats = new ImportStats(table, rows, (System.nanoTime() - start) / 1_000_000);
+        log.info("Importadas {} filas de {} en {} ms ({} filas/s)",
+                stats.getRows(), table, stats.getElapsedMillis(), Math.round(stats.getRowsPerSecond()));
+        return stats;
+    }
+
+    // Con rewriteBatchedStatements el driver envía cada lote como un INSERT de varias filas
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    private static Integer toInt(String value) {
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    // En el volcado las referencias ausentes son 0 o -1: se guardan como NULL, igual que las que apuntan a ids no importados
+    private static Integer reference(String value, Set<Integer> knownIds) {
+        Integer id = toInt(value);
+        return id != null && knownIds.contains(id) ? id : null;
+    }
+
+    // ABV e IBU usan 0 como "desconocido"
+    private static Double measure(String value) {
+        if (value == null) {
+            return null;
+        }
+        double measure = Double.parseDouble(value);
+        return measure > 0 ? measure : null;
+    }
+
+    private static String join(String first, String second) {
+        if (second == null || second.isBlank()) {
+            return first;
+        }
+        return first == null || first.isBlank() ? second : first + ", " + second;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        String text = emptyToNull(value);
+        return text != null && text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    @Value
+    public static class ImportStats {
+
+        String table;
+        long rows;
+        long elapsedMillis;
+
+        public double getRowsPerSecond() {
+            return elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kata.api.mapper;
+
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.entity.Beer;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = "spring", uses = {BreweryMapper.class, StyleMapper.class, CategoryMapper.class})
+public interface BeerMapper {
+    @Mapping(target = "breweryId", source = "brewery.id")
+    @Mapping(target = "styleId", source = "style.id")
+    @Mapping(target = "categoryId", source = "category.id")
+    BeerDTO toDTO(Beer beer);
+
+    @Mapping(target = "brewery", ignore = true)
+    @Mapping(target = "style", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Beer toEntity(BeerDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "brewery", ignore = true)
+    @Mapping(target = "style", ignore = true)
+    @Mapping(target = "category", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(BeerDTO dto, @MappingTarget Beer beer);
+}
@@ -0,0 +1,31 @@
+package com.kata.api.mapper;
+
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BreweryDTO;
+import com.kata.api.dto.CategoryDTO;
+import com.kata.api.dto.StyleDTO;
+import com.kata.api.repository.projection.BeerSummary;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface BeerSummaryMapper {
+
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "brewery", expression = "java(toBreweryRef(summary.getBreweryId(), summary.getBreweryName()))")
+    @Mapping(target = "style", expression = "java(toStyleRef(summary.getStyleId(), summary.getStyleName()))")
+    @Mapping(target = "category", expression = "java(toCategoryRef(summary.getCategoryId(), summary.getCategoryName()))")
+    BeerDTO toDTO(BeerSummary summary);
+
+    default BreweryDTO toBreweryRef(Integer id, String name) {
+        return id != null ? BreweryDTO.builder().id(id).name(name).build() : null;
+    }
+
+    default StyleDTO toStyleRef(Integer id, String name) {
+        return id != null ? StyleDTO.builder().id(id).name(name).build() : null;
+    }
+
+    default CategoryDTO toCategoryRef(Integer id, String name) {
+        return id != null ? CategoryDTO.builder().id(id).name(name).build() : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.kata.api.mapper;
+
+import com.kata.api.dto.BreweryDTO;
+import com.kata.api.entity.Brewery;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface BreweryMapper {
+    BreweryDTO toDTO(Brewery brewery);
+    Brewery toEntity(BreweryDTO dto);
+}
@@ -0,0 +1,11 @@
+package com.kata.api.mapper;
+
+import com.kata.api.dto.CategoryDTO;
+import com.kata.api.entity.Category;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface CategoryMapper {
+    CategoryDTO toDTO(Category category);
+    Category toEntity(CategoryDTO dto);
+}
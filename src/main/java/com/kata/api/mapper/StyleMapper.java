@@ -0,0 +1,15 @@
+package com.kata.api.mapper;
+
+import com.kata.api.dto.StyleDTO;
+import com.kata.api.entity.Style;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring", uses = CategoryMapper.class)
+public interface StyleMapper {
+    @Mapping(target = "categoryId", source = "category.id")
+    StyleDTO toDTO(Style style);
+
+    @Mapping(target = "category", ignore = true)
+    Style toEntity(StyleDTO dto);
+}
@@ -0,0 +1,439 @@
+package com.kata.api.readmodel;
+
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.repository.BeerSortField;
+import com.kata.api.repository.projection.BeerSnapshot;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Catálogo de cervezas por columnas en arrays primitivos, con las filas ordenadas por id.
+// Es inmutable: cada escritura publica una copia nueva y las lecturas en curso siguen con la suya
+public final class BeerColumns {
+
+    // Relación ausente; los valores nulos de abv e ibu son NaN, que no cumple ningún rango
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int[] NO_ROWS = new int[0];
+
+    private final int size;
+    private final int[] ids;
+    private final double[] abv;
+    private final double[] ibu;
+    private final int[] breweryIds;
+    private final int[] styleIds;
+    private final int[] categoryIds;
+    // Filas en el orden "campo ASC, id ASC" con los nulos primero, como el listado en MySQL
+    private final int[] byAbv;
+    private final int[] byIbu;
+    // Rankings: las filas con valor en el orden "campo DESC, id ASC", y las mismas repartidas por estilo y por categoría
+    private final int[] topByAbv;
+    private final int[] topByIbu;
+    private final Map<Integer, int[]> byAbvPerStyle;
+    private final Map<Integer, int[]> byAbvPerCategory;
+    private final Map<Integer, int[]> byIbuPerStyle;
+    private final Map<Integer, int[]> byIbuPerCategory;
+
+    private BeerColumns(int[] ids, double[] abv, double[] ibu, int[] breweryIds, int[] styleIds, int[] categoryIds) {
+        this(ids, abv, ibu, breweryIds, styleIds, categoryIds,
+                sortRows(allRows(ids.length), abv, ids), sortRows(allRows(ids.length), ibu, ids));
+    }
+
+    private BeerColumns(int[] ids, double[] abv, double[] ibu, int[] breweryIds, int[] styleIds, int[] categoryIds,
+                        int[] byAbv, int[] byIbu) {
+        this.size = ids.length;
+        this.ids = ids;
+        this.abv = abv;
+        this.ibu = ibu;
+        this.breweryIds = breweryIds;
+        this.styleIds = styleIds;
+        this.categoryIds = categoryIds;
+        this.byAbv = byAbv;
+        this.byIbu = byIbu;
+        this.topByAbv = ranking(byAbv, abv);
+        this.topByIbu = ranking(byIbu, ibu);
+        this.byAbvPerStyle = rowsByGroup(topByAbv, abv, styleIds);
+        this.byAbvPerCategory = rowsByGroup(topByAbv, abv, categoryIds);
+        this.byIbuPerStyle = rowsByGroup(topByIbu, ibu, styleIds);
+        this.byIbuPerCategory = rowsByGroup(topByIbu, ibu, categoryIds);
+    }
+
+    public static BeerColumns of(Collection<BeerSnapshot> beers) {
+        BeerSnapshot[] rows = beers.toArray(new BeerSnapshot[0]);
+        Arrays.sort(rows, Comparator.comparing(BeerSnapshot::getId));
+        int n = rows.length;
+        int[] ids = new int[n];
+        double[] abv = new double[n];
+        double[] ibu = new double[n];
+        int[] breweryIds = new int[n];
+        int[] styleIds = new int[n];
+        int[] categoryIds = new int[n];
+        for (int row = 0; row < n; row++) {
+            ids[row] = rows[row].getId();
+            abv[row] = value(rows[row].getAbv());
+            ibu[row] = value(rows[row].getIbu());
+            breweryIds[row] = reference(rows[row].getBreweryId());
+            styleIds[row] = reference(rows[row].getStyleId());
+            categoryIds[row] = reference(rows[row].getCategoryId());
+        }
+        return new BeerColumns(ids, abv, ibu, breweryIds, styleIds, categoryIds);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Copia con la cerveza añadida o sustituida
+    public BeerColumns with(BeerSnapshot beer) {
+        return apply(List.of(beer), List.of());
+    }
+
+    // Copia sin la cerveza; la misma instancia si no estaba
+    public BeerColumns without(int id) {
+        return apply(List.of(), List.of(id));
+    }
+
+    // Copia con las cervezas de upserts añadidas o sustituidas y las de deletes quitadas (cada id una sola vez);
+    // la misma instancia si no cambia nada. Las filas que no cambian conservan su orden relativo: solo se ordenan las k cambiadas y se mezclan
+    // con el resto, O(n + k log k) en lugar de volver a ordenar todo el catálogo
+    public BeerColumns apply(Collection<BeerSnapshot> upserts, Collection<Integer> deletes) {
+        BeerSnapshot[] added = upserts.toArray(new BeerSnapshot[0]);
+        Arrays.sort(added, Comparator.comparing(BeerSnapshot::getId));
+        boolean[] dropped = new boolean[size];
+        int droppedCount = 0;
+        for (int id : IntStream.concat(Arrays.stream(added).mapToInt(BeerSnapshot::getId),
+                deletes.stream().mapToInt(Integer::intValue)).toArray()) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            if (row >= 0 && !dropped[row]) {
+                dropped[row] = true;
+                droppedCount++;
+            }
+        }
+        if (added.length == 0 && droppedCount == 0) {
+            return this;
+        }
+
+        int n = size - droppedCount + added.length;
+        int[] newIds = new int[n];
+        double[] newAbv = new double[n];
+        double[] newIbu = new double[n];
+        int[] newBreweryIds = new int[n];
+        int[] newStyleIds = new int[n];
+        int[] newCategoryIds = new int[n];
+        // Fila nueva de cada fila anterior (-1 si se quita) y de cada cerveza añadida
+        int[] movedRows = new int[size];
+        int[] addedRows = new int[added.length];
+        int oldRow = 0;
+        int next = 0;
+        for (int row = 0; row < n; row++) {
+            while (oldRow < size && dropped[oldRow]) {
+                movedRows[oldRow++] = -1;
+            }
+            if (next < added.length && (oldRow == size || added[next].getId() < ids[oldRow])) {
+                BeerSnapshot beer = added[next];
+                newIds[row] = beer.getId();
+                newAbv[row] = value(beer.getAbv());
+                newIbu[row] = value(beer.getIbu());
+                newBreweryIds[row] = reference(beer.getBreweryId());
+                newStyleIds[row] = reference(beer.getStyleId());
+                newCategoryIds[row] = reference(beer.getCategoryId());
+                addedRows[next++] = row;
+            } else {
+                newIds[row] = ids[oldRow];
+                newAbv[row] = abv[oldRow];
+                newIbu[row] = ibu[oldRow];
+                newBreweryIds[row] = breweryIds[oldRow];
+                newStyleIds[row] = styleIds[oldRow];
+                newCategoryIds[row] = categoryIds[oldRow];
+                movedRows[oldRow++] = row;
+            }
+        }
+        while (oldRow < size) {
+            movedRows[oldRow++] = -1;
+        }
+        return new BeerColumns(newIds, newAbv, newIbu, newBreweryIds, newStyleIds, newCategoryIds,
+                merge(byAbv, movedRows, sortRows(addedRows, newAbv, newIds), newAbv, newIds),
+                merge(byIbu, movedRows, sortRows(addedRows, newIbu, newIds), newIbu, newIds));
+    }
+
+    // ABV o IBU de la cerveza; null si no tiene valor o no está en el catálogo
+    public Double valueOf(BeerSortField field, int id) {
+        if (!field.isNumeric()) {
+            throw new IllegalArgumentException("Solo abv e ibu son valores numéricos");
+        }
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            return null;
+        }
+        double value = field == BeerSortField.ABV ? abv[row] : ibu[row];
+        return Double.isNaN(value) ? null : value;
+    }
+
+    // Ids de hasta limit cervezas que cumplen el filtro en el orden de sort, a partir de la posición
+    // estrictamente posterior a (afterValue, afterId); sin afterId, desde el principio. El filtro por nombre no se aplica
+    public int[] find(BeerFilter filter, BeerSortField sort, Double afterValue, Integer afterId, int limit) {
+        if (sort == BeerSortField.NAME) {
+            throw new IllegalArgumentException("El modelo por columnas no guarda nombres");
+        }
+        Matcher matcher = new Matcher(filter);
+        int[] result = new int[Math.min(limit, size)];
+        int found = 0;
+        if (sort == BeerSortField.ID) {
+            int start = afterId == null ? 0 : firstIdAfter(afterId);
+            for (int row = start; row < size && found < limit; row++) {
+                if (matcher.matches(row)) {
+                    result[found++] = ids[row];
+                }
+            }
+        } else {
+            int[] order = sort == BeerSortField.ABV ? byAbv : byIbu;
+            double[] values = sort == BeerSortField.ABV ? abv : ibu;
+            int start = afterId == null ? 0 : firstPositionAfter(order, values, value(afterValue), afterId);
+            for (int position = start; position < size && found < limit; position++) {
+                int row = order[position];
+                if (matcher.matches(row)) {
+                    result[found++] = ids[row];
+                }
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    // Ids de hasta limit cervezas con valor en field, de mayor a menor y a igualdad por id. Se leen las primeras
+    // filas del ranking del catálogo o del grupo, así que el coste depende de limit y no del tamaño del catálogo
+    public int[] top(BeerSortField field, Integer styleId, Integer categoryId, int limit) {
+        if (!field.isNumeric()) {
+            throw new IllegalArgumentException("Solo hay rankings por abv e ibu");
+        }
+        boolean byAbvField = field == BeerSortField.ABV;
+        int[] rows;
+        if (styleId != null) {
+            rows = (byAbvField ? byAbvPerStyle : byIbuPerStyle).getOrDefault(styleId, NO_ROWS);
+        } else if (categoryId != null) {
+            rows = (byAbvField ? byAbvPerCategory : byIbuPerCategory).getOrDefault(categoryId, NO_ROWS);
+        } else {
+            rows = byAbvField ? topByAbv : topByIbu;
+        }
+        // Un estilo pertenece a una sola categoría: filtrar además por ella apenas descarta filas
+        boolean byCategory = styleId != null && categoryId != null;
+        int category = reference(categoryId);
+
+        int[] result = new int[Math.min(limit, rows.length)];
+        int found = 0;
+        for (int i = 0; i < rows.length && found < limit; i++) {
+            if (!byCategory || categoryIds[rows[i]] == category) {
+                result[found++] = ids[rows[i]];
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    // Cervezas que cumplen el filtro por estilo; las que no tienen estilo no cuentan
+    public Map<Integer, Long> countByStyle(BeerFilter filter) {
+        return countBy(filter, styleIds);
+    }
+
+    // Cervezas que cumplen el filtro por categoría; las que no tienen categoría no cuentan
+    public Map<Integer, Long> countByCategory(BeerFilter filter) {
+        return countBy(filter, categoryIds);
+    }
+
+    // Los ids de estilo y categoría son pocos y pequeños: se cuenta en un array indexado por id
+    private Map<Integer, Long> countBy(BeerFilter filter, int[] groups) {
+        Matcher matcher = new Matcher(filter);
+        int maxGroup = -1;
+        for (int row = 0; row < size; row++) {
+            maxGroup = Math.max(maxGroup, groups[row]);
+        }
+        int[] counts = new int[maxGroup + 1];
+        for (int row = 0; row < size; row++) {
+            if (groups[row] >= 0 && matcher.matches(row)) {
+                counts[groups[row]]++;
+            }
+        }
+        Map<Integer, Long> result = new HashMap<>();
+        for (int group = 0; group < counts.length; group++) {
+            if (counts[group] > 0) {
+                result.put(group, (long) counts[group]);
+            }
+        }
+        return result;
+    }
+
+    private int firstIdAfter(int afterId) {
+        int position = Arrays.binarySearch(ids, 0, size, afterId);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private int firstPositionAfter(int[] order, double[] values, double afterValue, int afterId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int row = order[middle];
+            if (compare(values[row], ids[row], afterValue, afterId) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int[] allRows(int n) {
+        return IntStream.range(0, n).toArray();
+    }
+
+    private static int[] sortRows(int[] rows, double[] values, int[] ids) {
+        return Arrays.stream(rows)
+                .boxed()
+                .sorted((a, b) -> compare(values[a], ids[a], values[b], ids[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    // Orden anterior con las filas renumeradas (sin las quitadas) mezclado con las filas añadidas ya ordenadas
+    private static int[] merge(int[] order, int[] movedRows, int[] addedRows, double[] values, int[] ids) {
+        int[] merged = new int[ids.length];
+        int out = 0;
+        int next = 0;
+        for (int oldRow : order) {
+            int row = movedRows[oldRow];
+            if (row < 0) {
+                continue;
+            }
+            while (next < addedRows.length
+                    && compare(values[addedRows[next]], ids[addedRows[next]], values[row], ids[row]) < 0) {
+                merged[out++] = addedRows[next++];
+            }
+            merged[out++] = row;
+        }
+        while (next < addedRows.length) {
+            merged[out++] = addedRows[next++];
+        }
+        return merged;
+    }
+
+    // El orden ascendente recorrido desde el final sin los nulos, con cada racha de valores iguales en su orden
+    // original para mantener el id ascendente. Se paga al publicar cada copia, O(n), y no en cada consulta
+    private static int[] ranking(int[] order, double[] values) {
+        int first = 0;
+        while (first < order.length && Double.isNaN(values[order[first]])) {
+            first++;
+        }
+        int[] ranked = new int[order.length - first];
+        int out = 0;
+        int end = order.length;
+        while (end > first) {
+            double value = values[order[end - 1]];
+            int start = end - 1;
+            while (start > first && values[order[start - 1]] == value) {
+                start--;
+            }
+            System.arraycopy(order, start, ranked, out, end - start);
+            out += end - start;
+            end = start;
+        }
+        return ranked;
+    }
+
+    // Los ids de estilo y categoría son pocos y pequeños: se reparte con arrays indexados por id
+    private static Map<Integer, int[]> rowsByGroup(int[] order, double[] values, int[] groups) {
+        int maxGroup = -1;
+        for (int row : order) {
+            maxGroup = Math.max(maxGroup, groups[row]);
+        }
+        int[] counts = new int[maxGroup + 1];
+        for (int row : order) {
+            if (groups[row] >= 0 && !Double.isNaN(values[row])) {
+                counts[groups[row]]++;
+            }
+        }
+        int[][] rows = new int[maxGroup + 1][];
+        Map<Integer, int[]> result = new HashMap<>();
+        for (int group = 0; group <= maxGroup; group++) {
+            if (counts[group] > 0) {
+                rows[group] = new int[counts[group]];
+                result.put(group, rows[group]);
+            }
+        }
+        int[] filled = new int[maxGroup + 1];
+        for (int row : order) {
+            if (groups[row] >= 0 && !Double.isNaN(values[row])) {
+                rows[groups[row]][filled[groups[row]]++] = row;
+            }
+        }
+        return result;
+    }
+
+    // NaN (nulo) va antes que cualquier valor
+    private static int compare(double value, int id, double otherValue, int otherId) {
+        boolean nullValue = Double.isNaN(value);
+        boolean otherNull = Double.isNaN(otherValue);
+        if (nullValue != otherNull) {
+            return nullValue ? -1 : 1;
+        }
+        if (!nullValue && value != otherValue) {
+            return value < otherValue ? -1 : 1;
+        }
+        return Integer.compare(id, otherId);
+    }
+
+    private static double value(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static int reference(Integer id) {
+        return id != null ? id : NONE;
+    }
+
+    // El filtro traducido a primitivos para no desempaquetar en cada fila
+    private final class Matcher {
+
+        private final boolean abvRange;
+        private final double abvMin;
+        private final double abvMax;
+        private final boolean ibuRange;
+        private final double ibuMin;
+        private final double ibuMax;
+        private final boolean byBrewery;
+        private final int breweryId;
+        private final boolean byStyle;
+        private final int styleId;
+        private final boolean byCategory;
+        private final int categoryId;
+
+        private Matcher(BeerFilter filter) {
+            BeerFilter f = filter != null ? filter : new BeerFilter();
+            abvRange = f.getAbvMin() != null || f.getAbvMax() != null;
+            abvMin = f.getAbvMin() != null ? f.getAbvMin() : Double.NEGATIVE_INFINITY;
+            abvMax = f.getAbvMax() != null ? f.getAbvMax() : Double.POSITIVE_INFINITY;
+            ibuRange = f.getIbuMin() != null || f.getIbuMax() != null;
+            ibuMin = f.getIbuMin() != null ? f.getIbuMin() : Double.NEGATIVE_INFINITY;
+            ibuMax = f.getIbuMax() != null ? f.getIbuMax() : Double.POSITIVE_INFINITY;
+            byBrewery = f.getBreweryId() != null;
+            breweryId = reference(f.getBreweryId());
+            byStyle = f.getStyleId() != null;
+            styleId = reference(f.getStyleId());
+            byCategory = f.getCategoryId() != null;
+            categoryId = reference(f.getCategoryId());
+        }
+
+        private boolean matches(int row) {
+            // Las comparaciones con NaN son falsas: una cerveza sin valor no entra en ningún rango
+            if (abvRange && !(abv[row] >= abvMin && abv[row] <= abvMax)) {
+                return false;
+            }
+            if (ibuRange && !(ibu[row] >= ibuMin && ibu[row] <= ibuMax)) {
+                return false;
+            }
+            return (!byBrewery || breweryIds[row] == breweryId)
+                    && (!byStyle || styleIds[row] == styleId)
+                    && (!byCategory || categoryIds[row] == categoryId);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.kata.api.readmodel;
+
+import com.kata.api.repository.projection.BeerSnapshot;
+import lombok.Value;
+
+// Lo que necesitan las estadísticas de una cerveza: relaciones y valores numéricos, sin nombre ni descripción
+@Value
+public class BeerFacts {
+
+    Integer id;
+    Integer breweryId;
+    Integer styleId;
+    Integer categoryId;
+    Double abv;
+    Double ibu;
+
+    public static BeerFacts of(BeerSnapshot beer) {
+        return new BeerFacts(beer.getId(), beer.getBreweryId(), beer.getStyleId(), beer.getCategoryId(),
+                beer.getAbv(), beer.getIbu());
+    }
+}
@@ -0,0 +1,11 @@
+package com.kata.api.repository;
+
+import com.kata.api.entity.Beer;
+
+import java.util.List;
+
+public interface BeerBatchRepository {
+
+    // Inserta en un único lote JDBC y devuelve los ids generados en el mismo orden
+    List<Integer> insertAllInBatch(List<Beer> beers);
+}
@@ -0,0 +1,62 @@
+package com.kata.api.repository;
+
+import com.kata.api.entity.Beer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+// Hibernate no agrupa inserciones con ids IDENTITY: el alta masiva va directamente por JDBC
+@RequiredArgsConstructor
+public class BeerBatchRepositoryImpl implements BeerBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO beers "
+            + "(name, description, abv, ibu, brewery_id, style_id, category_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Integer> insertAllInBatch(List<Beer> beers) {
+        if (beers.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Beer beer : beers) {
+                    ps.setString(1, beer.getName());
+                    ps.setString(2, beer.getDescription());
+                    setNullable(ps, 3, beer.getAbv(), Types.DOUBLE);
+                    setNullable(ps, 4, beer.getIbu(), Types.DOUBLE);
+                    setNullable(ps, 5, beer.getBrewery() != null ? beer.getBrewery().getId() : null, Types.INTEGER);
+                    setNullable(ps, 6, beer.getStyle() != null ? beer.getStyle().getId() : null, Types.INTEGER);
+                    setNullable(ps, 7, beer.getCategory() != null ? beer.getCategory().getId() : null, Types.INTEGER);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Integer> ids = new ArrayList<>(beers.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getInt(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, Object value, int sqlType) throws SQLException {
+        if (value != null) {
+            ps.setObject(index, value, sqlType);
+        } else {
+            ps.setNull(index, sqlType);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kata.api.repository;
+
+import com.kata.api.dto.FacetCountDTO;
+import com.kata.api.entity.Beer;
+import com.kata.api.repository.projection.BeerSummary;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BeerQueryRepository {
+
+    List<BeerSummary> findSummaries(Specification<Beer> spec, BeerSortField sort, int limit);
+
+    List<BeerSummary> findTopSummaries(Specification<Beer> spec, BeerSortField field, int limit);
+
+    List<BeerSummary> findSummariesByIds(Collection<Integer> ids);
+
+    List<FacetCountDTO> countByStyle(Specification<Beer> spec);
+
+    List<FacetCountDTO> countByCategory(Specification<Beer> spec);
+}
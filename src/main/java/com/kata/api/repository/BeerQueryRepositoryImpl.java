@@ -0,0 +1,116 @@
+package com.kata.api.repository;
+
+import com.kata.api.dto.FacetCountDTO;
+import com.kata.api.entity.Beer;
+import com.kata.api.repository.projection.BeerSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+// Las Specification solo devuelven entidades: aquí se aplican sobre consultas con proyección, orden por clave y límite
+public class BeerQueryRepositoryImpl implements BeerQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BeerSummary> findSummaries(Specification<Beer> spec, BeerSortField sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BeerSummary> query = cb.createQuery(BeerSummary.class);
+        Root<Beer> beer = selectSummaries(query, cb);
+        applyWhere(query, spec, beer, cb);
+        if (sort == BeerSortField.ID) {
+            query.orderBy(cb.asc(beer.get("id")));
+        } else {
+            query.orderBy(cb.asc(beer.get(sort.getKey())), cb.asc(beer.get("id")));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // De mayor a menor valor de field y a igualdad por id; las cervezas sin valor no entran en el ranking
+    @Override
+    public List<BeerSummary> findTopSummaries(Specification<Beer> spec, BeerSortField field, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BeerSummary> query = cb.createQuery(BeerSummary.class);
+        Root<Beer> beer = selectSummaries(query, cb);
+        Specification<Beer> withValue = (root, q, builder) -> builder.isNotNull(root.get(field.getKey()));
+        applyWhere(query, spec != null ? spec.and(withValue) : withValue, beer, cb);
+        query.orderBy(cb.desc(beer.get(field.getKey())), cb.asc(beer.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Sin orden: quien pide los ids ya sabe en qué orden los quiere
+    @Override
+    public List<BeerSummary> findSummariesByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BeerSummary> query = cb.createQuery(BeerSummary.class);
+        Root<Beer> beer = selectSummaries(query, cb);
+        query.where(beer.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<FacetCountDTO> countByStyle(Specification<Beer> spec) {
+        return countBy(spec, "style");
+    }
+
+    @Override
+    public List<FacetCountDTO> countByCategory(Specification<Beer> spec) {
+        return countBy(spec, "category");
+    }
+
+    // Cervezas por valor de la asociación, de más a menos; las que no tienen valor no cuentan
+    private List<FacetCountDTO> countBy(Specification<Beer> spec, String association) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FacetCountDTO> query = cb.createQuery(FacetCountDTO.class);
+        Root<Beer> beer = query.from(Beer.class);
+        Join<Object, Object> target = beer.join(association, JoinType.INNER);
+        Expression<Long> count = cb.count(beer);
+
+        query.select(cb.construct(FacetCountDTO.class, target.get("id"), target.get("name"), count));
+        applyWhere(query, spec, beer, cb);
+        query.groupBy(target.get("id"), target.get("name"));
+        query.orderBy(cb.desc(count), cb.asc(target.get("id")));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static Root<Beer> selectSummaries(CriteriaQuery<BeerSummary> query, CriteriaBuilder cb) {
+        Root<Beer> beer = query.from(Beer.class);
+        Join<Object, Object> brewery = beer.join("brewery", JoinType.LEFT);
+        Join<Object, Object> style = beer.join("style", JoinType.LEFT);
+        Join<Object, Object> category = beer.join("category", JoinType.LEFT);
+        query.select(cb.construct(BeerSummary.class,
+                beer.get("id"), beer.get("name"), beer.get("abv"), beer.get("ibu"),
+                brewery.get("id"), brewery.get("name"),
+                style.get("id"), style.get("name"),
+                category.get("id"), category.get("name")));
+        return beer;
+    }
+
+    private static void applyWhere(CriteriaQuery<?> query, Specification<Beer> spec, Root<Beer> beer, CriteriaBuilder cb) {
+        Predicate predicate = spec != null ? spec.toPredicate(beer, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -1,10 +1,57 @@
 package com.kata.api.repository;
 
 import com.kata.api.entity.Beer;
+import com.kata.api.repository.projection.BeerSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface BeerRepository extends JpaRepository<Beer, Integer> {
-}
+public interface BeerRepository extends JpaRepository<Beer, Integer>, JpaSpecificationExecutor<Beer>,
+        BeerBatchRepository, BeerQueryRepository {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    // Solo lectura: el detalle necesita todas las columnas, pero no hace falta la copia para dirty checking
+    @EntityGraph(Beer.WITH_ASSOCIATIONS)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Beer> findWithAssociationsById(Integer id);
+
+    // Basta para responder a If-None-Match sin cargar la cerveza
+    @Query("SELECT b.version FROM Beer b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Integer id);
 
+    // Borrado en una sola sentencia, sin cargar la cerveza; devuelven las filas afectadas (0 si no existe o cambió)
+    @Modifying
+    @Query("DELETE FROM Beer b WHERE b.id = :id")
+    int deleteBeerById(@Param("id") Integer id);
+
+    @Modifying
+    @Query("DELETE FROM Beer b WHERE b.id = :id AND b.version = :version")
+    int deleteBeerByIdAndVersion(@Param("id") Integer id, @Param("version") Long version);
+
+    // Recorre la tabla con un cursor del servidor (useCursorFetch) en bloques de EXPORT_FETCH_SIZE filas
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Beer b ORDER BY b.id")
+    Stream<Beer> streamAllOrderById();
+
+    // Carga inicial de los índices en memoria: una fila por cerveza sin instanciar entidades
+    @Query("SELECT new com.kata.api.repository.projection.BeerSnapshot("
+            + "b.id, b.name, b.description, b.abv, b.ibu, br.id, s.id, c.id) "
+            + "FROM Beer b LEFT JOIN b.brewery br LEFT JOIN b.style s LEFT JOIN b.category c")
+    List<BeerSnapshot> findAllSnapshots();
+}
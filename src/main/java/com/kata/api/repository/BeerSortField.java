@@ -0,0 +1,42 @@
+package com.kata.api.repository;
+
+import com.kata.api.exception.BadRequestException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Campos por los que se puede ordenar y paginar el listado de cervezas; la clave coincide con el atributo de Beer
+public enum BeerSortField {
+    ID("id", false),
+    NAME("name", false),
+    ABV("abv", true),
+    IBU("ibu", true);
+
+    private final String key;
+    private final boolean nullable;
+
+    BeerSortField(String key, boolean nullable) {
+        this.key = key;
+        this.nullable = nullable;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    public boolean isNumeric() {
+        return this == ABV || this == IBU;
+    }
+
+    public static BeerSortField fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(field -> field.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("Campo de ordenación no válido: " + key
+                        + ". Valores permitidos: " + Arrays.stream(values()).map(BeerSortField::getKey).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,80 @@
+package com.kata.api.repository;
+
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.entity.Beer;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Condiciones del listado de cervezas; cada filtro nulo se ignora
+public final class BeerSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BeerSpecifications() {
+    }
+
+    public static Specification<Beer> matching(BeerFilter filter) {
+        return (root, query, cb) -> {
+            if (filter == null) {
+                return null;
+            }
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getAbvMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("abv"), filter.getAbvMin()));
+            }
+            if (filter.getAbvMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("abv"), filter.getAbvMax()));
+            }
+            if (filter.getIbuMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("ibu"), filter.getIbuMin()));
+            }
+            if (filter.getIbuMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("ibu"), filter.getIbuMax()));
+            }
+            // Comparar contra la clave ajena no necesita join
+            if (filter.getBreweryId() != null) {
+                predicates.add(cb.equal(root.get("brewery").get("id"), filter.getBreweryId()));
+            }
+            if (filter.getStyleId() != null) {
+                predicates.add(cb.equal(root.get("style").get("id"), filter.getStyleId()));
+            }
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("category").get("id"), filter.getCategoryId()));
+            }
+            if (filter.getNamePrefix() != null && !filter.getNamePrefix().isBlank()) {
+                // LIKE 'prefijo%' puede usar el índice por nombre
+                predicates.add(cb.like(root.get("name"), escapeLike(filter.getNamePrefix()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Posición estrictamente posterior a (lastValue, lastId) en el orden "campo ASC, id ASC"; los nulos van primero, como en MySQL
+    public static Specification<Beer> after(BeerSortField sort, Object lastValue, Integer lastId) {
+        return (root, query, cb) -> {
+            Path<Integer> id = root.get("id");
+            if (sort == BeerSortField.ID) {
+                return cb.greaterThan(id, lastId);
+            }
+            Path<Comparable<Object>> field = root.get(sort.getKey());
+            if (lastValue == null) {
+                return cb.or(
+                        cb.isNotNull(field),
+                        cb.and(cb.isNull(field), cb.greaterThan(id, lastId)));
+            }
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) lastValue;
+            return cb.or(
+                    cb.greaterThan(field, value),
+                    cb.and(cb.equal(field, value), cb.greaterThan(id, lastId)));
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
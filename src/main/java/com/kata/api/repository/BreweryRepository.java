@@ -1,10 +1,43 @@
 package com.kata.api.repository;
 
 import com.kata.api.entity.Brewery;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface BreweryRepository extends JpaRepository<Brewery, Integer> {
-}
 
+    // Resultado en la caché de consultas; las entidades se resuelven desde la caché de segundo nivel
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Brewery> findAll();
+
+    // Búsqueda por país, ciudad y comienzo del nombre con cursor (nombre, id); los filtros nulos no se aplican.
+    // Con Pageable y List no se lanza la consulta de recuento. '!' escapa los comodines del prefijo
+    @Query("SELECT b FROM Brewery b "
+            + "WHERE (:country IS NULL OR b.country = :country) "
+            + "AND (:city IS NULL OR b.city = :city) "
+            + "AND (:namePattern IS NULL OR b.name LIKE :namePattern ESCAPE '!') "
+            + "AND (:afterName IS NULL OR b.name > :afterName OR (b.name = :afterName AND b.id > :afterId)) "
+            + "ORDER BY b.name, b.id")
+    List<Brewery> findMatching(@Param("country") String country, @Param("city") String city,
+                               @Param("namePattern") String namePattern, @Param("afterName") String afterName,
+                               @Param("afterId") Integer afterId, Pageable pageable);
+
+    default List<Brewery> findMatching(String country, String city, String namePrefix,
+                                       String afterName, Integer afterId, int limit) {
+        String namePattern = namePrefix != null
+                ? namePrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%"
+                : null;
+        return findMatching(country, city, namePattern, afterName, afterId, PageRequest.of(0, limit));
+    }
+}
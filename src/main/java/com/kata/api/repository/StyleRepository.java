@@ -1,10 +1,19 @@
 package com.kata.api.repository;
 
 import com.kata.api.entity.Style;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface StyleRepository extends JpaRepository<Style, Integer> {
-}
 
+    // Resultado en la caché de consultas; estilos y categorías se resuelven desde la caché de segundo nivel
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Style> findAll();
+}
@@ -0,0 +1,26 @@
+package com.kata.api.repository.projection;
+
+import com.kata.api.entity.Beer;
+import lombok.Value;
+
+// Estado de una cerveza con las relaciones como ids: lo que necesitan los índices en memoria
+@Value
+public class BeerSnapshot {
+
+    Integer id;
+    String name;
+    String description;
+    Double abv;
+    Double ibu;
+    Integer breweryId;
+    Integer styleId;
+    Integer categoryId;
+
+    // Leer el id de un proxy LAZY no lo inicializa
+    public static BeerSnapshot of(Beer beer) {
+        return new BeerSnapshot(beer.getId(), beer.getName(), beer.getDescription(), beer.getAbv(), beer.getIbu(),
+                beer.getBrewery() != null ? beer.getBrewery().getId() : null,
+                beer.getStyle() != null ? beer.getStyle().getId() : null,
+                beer.getCategory() != null ? beer.getCategory().getId() : null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kata.api.repository.projection;
+
+import lombok.Value;
+
+// Fila de solo lectura para listados: sin columnas TEXT y con las referencias reducidas a id y nombre
+@Value
+public class BeerSummary {
+
+    Integer id;
+    String name;
+    Double abv;
+    Double ibu;
+    Integer breweryId;
+    String breweryName;
+    Integer styleId;
+    String styleName;
+    Integer categoryId;
+    String categoryName;
+}
@@ -0,0 +1,125 @@
+package com.kata.api.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Índice inmutable de cervecerías: ordenadas por nombre normalizado e id, con tablas hash de país y ciudad que guardan
+// posiciones en ese orden. Cada consulta recorre la lista más selectiva desde el cursor, sin ordenar nada.
+public class BreweryLocationIndex {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing(Entry::getName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Entry::getId);
+
+    private final List<Entry> entries;
+    private final Map<String, int[]> byCountry;
+    private final Map<String, int[]> byCity;
+
+    public BreweryLocationIndex(List<Location> locations) {
+        entries = locations.stream()
+                .map(location -> new Entry(location.getId(), key(location.getName()),
+                        key(location.getCountry()), key(location.getCity())))
+                .sorted(ORDER)
+                .toList();
+        byCountry = positionsBy(entries, Entry::getCountry);
+        byCity = positionsBy(entries, Entry::getCity);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Ids de hasta limit cervecerías que cumplen los filtros no nulos, a continuación de (afterName, afterId)
+    public List<Integer> find(String country, String city, String namePrefix, String afterName, Integer afterId, int limit) {
+        String countryKey = key(country);
+        String cityKey = key(city);
+        String prefixKey = key(namePrefix);
+        int from = afterName != null ? firstPositionAfter(new Entry(afterId, key(afterName), null, null)) : 0;
+        if (prefixKey != null) {
+            from = Math.max(from, firstPositionAfter(new Entry(Integer.MIN_VALUE, prefixKey, null, null)));
+        }
+
+        int[] candidates = cityKey != null ? byCity.get(cityKey) : countryKey != null ? byCountry.get(countryKey) : null;
+        List<Integer> ids = new ArrayList<>(Math.min(limit, entries.size()));
+        if (candidates == null && (cityKey != null || countryKey != null)) {
+            return ids;
+        }
+        int start = candidates != null ? lowerBound(candidates, from) : from;
+        int end = candidates != null ? candidates.length : entries.size();
+        for (int i = start; i < end && ids.size() < limit; i++) {
+            Entry entry = entries.get(candidates != null ? candidates[i] : i);
+            if (prefixKey != null && !entry.getName().startsWith(prefixKey)) {
+                // Los nombres están ordenados: pasado el prefijo ya no hay más coincidencias
+                if (entry.getName().compareTo(prefixKey) > 0) {
+                    break;
+                }
+                continue;
+            }
+            if (countryKey != null && !countryKey.equals(entry.getCountry())) {
+                continue;
+            }
+            ids.add(entry.getId());
+        }
+        return ids;
+    }
+
+    private int firstPositionAfter(Entry probe) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(entries.get(mid), probe) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(int[] positions, int position) {
+        int index = Arrays.binarySearch(positions, position);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static Map<String, int[]> positionsBy(List<Entry> entries, Function<Entry, String> key) {
+        Map<String, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            String value = key.apply(entries.get(i));
+            if (value != null) {
+                positions.computeIfAbsent(value, k -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<String, int[]> result = new HashMap<>(positions.size() * 2);
+        positions.forEach((value, list) -> result.put(value, list.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    // Como la intercalación de MySQL (_ci/_ai): sin distinguir mayúsculas ni acentos
+    private static String key(String text) {
+        return text == null || text.isBlank() ? null : TextTokenizer.normalize(text.trim());
+    }
+
+    @Value
+    public static class Location {
+        Integer id;
+        String name;
+        String country;
+        String city;
+    }
+
+    @Value
+    private static class Entry {
+        Integer id;
+        String name;
+        String country;
+        String city;
+    }
+}
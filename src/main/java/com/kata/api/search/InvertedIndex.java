@@ -0,0 +1,130 @@
+package com.kata.api.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido término -> (documento -> peso) con ranking tipo BM25. Seguro para lecturas concurrentes.
+public class InvertedIndex {
+
+    // Saturación del peso: repetir un término muchas veces no dispara la puntuación
+    private static final float SATURATION = 1.2f;
+
+    private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+    private final Map<Integer, Map<String, Float>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int docId, Map<String, Float> termWeights) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            documents.put(docId, termWeights);
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(docId, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Documentos que contienen todos los términos, ordenados de mayor a menor puntuación
+    public List<ScoredDocument> search(List<String> terms) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Float>> termPostings = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Integer, Float> docs = postings.get(term);
+                if (docs == null) {
+                    return List.of();
+                }
+                termPostings.add(docs);
+            }
+            // Se recorre la lista más corta y se comprueba el resto
+            termPostings.sort(Comparator.comparingInt(Map::size));
+            int totalDocuments = documents.size();
+
+            List<ScoredDocument> results = new ArrayList<>();
+            for (Integer docId : termPostings.get(0).keySet()) {
+                float score = 0;
+                boolean matchesAll = true;
+                for (Map<Integer, Float> docs : termPostings) {
+                    Float weight = docs.get(docId);
+                    if (weight == null) {
+                        matchesAll = false;
+                        break;
+                    }
+                    score += idf(totalDocuments, docs.size()) * weight / (weight + SATURATION);
+                }
+                if (matchesAll) {
+                    results.add(new ScoredDocument(docId, score));
+                }
+            }
+            results.sort(Comparator.comparingDouble(ScoredDocument::getScore).reversed()
+                    .thenComparingInt(ScoredDocument::getDocId));
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(int docId) {
+        Map<String, Float> previous = documents.remove(docId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.keySet()) {
+            Map<Integer, Float> docs = postings.get(term);
+            docs.remove(docId);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static float idf(int totalDocuments, int documentFrequency) {
+        return (float) Math.log(1 + (totalDocuments - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    @Value
+    public static class ScoredDocument {
+
+        int docId;
+        float score;
+    }
+}
@@ -0,0 +1,275 @@
+package com.kata.api.search;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trie de autocompletado sobre nombres normalizados. Cada nombre se indexa desde el comienzo de cada una de sus
+// primeras palabras, y cada nodo guarda ya ordenadas las MAX_SUGGESTIONS mejores sugerencias de su subárbol:
+// una consulta recorre tantos nodos como caracteres tiene el prefijo y no ordena nada. Seguro para lecturas concurrentes.
+public class PrefixSuggester {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // Límites de memoria: profundidad del trie y palabras indexadas por nombre
+    private static final int MAX_KEY_LENGTH = 24;
+    private static final int MAX_WORDS = 4;
+
+    // Primero las que empiezan por el prefijo, luego los nombres más cortos y después orden alfabético
+    private static final Comparator<Posting> RANKING = Comparator
+            .comparing((Posting posting) -> posting.getOffset() > 0)
+            .thenComparingInt(posting -> posting.getKey().length())
+            .thenComparing(Posting::getKey)
+            .thenComparingInt(Posting::getId);
+
+    private static final Posting[] NO_POSTINGS = new Posting[0];
+
+    private final Node root = new Node();
+    private final Map<Integer, String> names = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int id, String name) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (name == null || name.isBlank()) {
+                return;
+            }
+            names.put(id, name);
+            for (Posting posting : postingsOf(id, name)) {
+                List<Node> path = path(posting.getKey(), true);
+                Node node = path.get(path.size() - 1);
+                node.own = append(node.own, posting);
+                refresh(path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.labels = new char[0];
+            root.children = new Node[0];
+            root.own = NO_POSTINGS;
+            root.top = NO_POSTINGS;
+            names.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, MAX_SUGGESTIONS));
+        if (key.isEmpty()) {
+            return suggestions;
+        }
+        lock.readLock().lock();
+        try {
+            List<Node> path = path(key, false);
+            if (path == null) {
+                return suggestions;
+            }
+            // Más allá de MAX_KEY_LENGTH el trie no distingue: se comprueba el resto del prefijo en cada candidata
+            for (Posting posting : path.get(path.size() - 1).top) {
+                if (suggestions.size() >= limit) {
+                    break;
+                }
+                if (key.length() <= MAX_KEY_LENGTH || posting.getKey().startsWith(key)) {
+                    suggestions.add(new Suggestion(posting.getId(), names.get(posting.getId())));
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(int id) {
+        String previous = names.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Posting posting : postingsOf(id, previous)) {
+            List<Node> path = path(posting.getKey(), false);
+            if (path == null) {
+                continue;
+            }
+            Node node = path.get(path.size() - 1);
+            node.own = Arrays.stream(node.own).filter(own -> own.getId() != id).toArray(Posting[]::new);
+            refresh(path);
+        }
+    }
+
+    // Recalcula las mejores sugerencias desde el nodo modificado hasta la raíz y poda las ramas vacías
+    private void refresh(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            if (node.children.length == 1 && node.own.length == 0) {
+                // Los tramos sin bifurcaciones comparten el array del hijo
+                node.top = node.children[0].top;
+            } else {
+                node.top = best(node);
+            }
+            if (depth > 0 && node.top.length == 0) {
+                path.get(depth - 1).removeChild(node);
+            }
+        }
+    }
+
+    private static Posting[] best(Node node) {
+        List<Posting> candidates = new ArrayList<>(Arrays.asList(node.own));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(RANKING);
+        Set<Integer> seen = new HashSet<>();
+        List<Posting> best = new ArrayList<>(MAX_SUGGESTIONS);
+        for (Posting candidate : candidates) {
+            if (best.size() >= MAX_SUGGESTIONS) {
+                break;
+            }
+            if (seen.add(candidate.getId())) {
+                best.add(candidate);
+            }
+        }
+        return best.toArray(NO_POSTINGS);
+    }
+
+    // Nodos desde la raíz hasta el del prefijo (recortado a MAX_KEY_LENGTH); null si no existe y no se crea
+    private List<Node> path(String key, boolean create) {
+        int length = Math.min(key.length(), MAX_KEY_LENGTH);
+        List<Node> path = new ArrayList<>(length + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < length; i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = node.addChild(key.charAt(i));
+            }
+            node = child;
+            path.add(node);
+        }
+        return path;
+    }
+
+    private static List<Posting> postingsOf(int id, String name) {
+        String normalized = normalize(name);
+        List<Posting> postings = new ArrayList<>(MAX_WORDS);
+        int offset = 0;
+        while (offset < normalized.length() && postings.size() < MAX_WORDS) {
+            postings.add(new Posting(id, normalized, offset));
+            int space = normalized.indexOf(' ', offset);
+            if (space < 0) {
+                break;
+            }
+            offset = space + 1;
+        }
+        return postings;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : TextTokenizer.normalize(text).trim().replaceAll("\\s+", " ");
+    }
+
+    private static Posting[] append(Posting[] postings, Posting posting) {
+        Posting[] result = Arrays.copyOf(postings, postings.length + 1);
+        result[postings.length] = posting;
+        return result;
+    }
+
+    @Value
+    public static class Suggestion {
+        Integer id;
+        String name;
+    }
+
+    // Un nombre indexado desde la palabra que empieza en offset
+    @Value
+    private static class Posting {
+        int id;
+        String normalizedName;
+        int offset;
+
+        String getKey() {
+            return normalizedName.substring(offset);
+        }
+    }
+
+    // Hijos en arrays paralelos ordenados por carácter: menos memoria que un mapa por nodo
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Posting[] own = NO_POSTINGS;
+        private Posting[] top = NO_POSTINGS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(char label) {
+            int index = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newLabels[index] = label;
+            Node child = new Node();
+            newChildren[index] = child;
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(Node child) {
+            for (int index = 0; index < children.length; index++) {
+                if (children[index] == child) {
+                    char[] newLabels = new char[labels.length - 1];
+                    Node[] newChildren = new Node[children.length - 1];
+                    System.arraycopy(labels, 0, newLabels, 0, index);
+                    System.arraycopy(children, 0, newChildren, 0, index);
+                    System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+                    System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+                    labels = newLabels;
+                    children = newChildren;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.kata.api.service;
+
+import com.kata.api.changes.BeerChange;
+import com.kata.api.changes.ChangeLog;
+import com.kata.api.config.ChangeFeedProperties;
+import com.kata.api.dto.BeerChangeDTO;
+import com.kata.api.dto.ChangeFeedDTO;
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.exception.GoneException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Registro de cambios de cervezas para sincronizar sin volver a descargar el catálogo. Cada escritura confirmada
+// añade una entrada y despierta a los clientes que esperan (long polling) o están suscritos (SSE). Cada suscriptor
+// recibe sus eventos en su propia tarea del pool de envíos, así que uno lento no retrasa a los demás
+@Slf4j
+@Service
+public class BeerChangeFeedService {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String CHANGE_EVENT = "change";
+    private static final String EXPIRED_EVENT = "expired";
+    private static final String EXPIRED_MESSAGE =
+            "El cursor ya no está en el registro de cambios: descarga de nuevo el catálogo y continúa desde un cursor nuevo";
+
+    private final ChangeFeedProperties properties;
+    private final ExecutorService sendExecutor;
+    private final ChangeLog<BeerChange> changeLog;
+    // Identifica esta instancia del registro: los cursores de antes de un reinicio ya no sirven
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final List<Waiter> waiters = new ArrayList<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public BeerChangeFeedService(ChangeFeedProperties properties, ScheduledExecutorService changeFeedExecutor,
+                                 @Qualifier("changeFeedSendExecutor") ExecutorService sendExecutor) {
+        this.properties = properties;
+        this.sendExecutor = sendExecutor;
+        this.changeLog = new ChangeLog<>(properties.getMaxEntries(), properties.getMaxAge(),
+                properties.isCompaction(), BeerChange::merge, Clock.systemUTC());
+        long heartbeat = properties.getSseHeartbeat().toMillis();
+        changeFeedExecutor.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        List<Waiter> ready;
+        synchronized (this) {
+            changeLog.append(event.getBeerId(), BeerChange.of(event));
+            ready = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        for (Waiter waiter : ready) {
+            try {
+                waiter.result.setResult(read(waiter.sequence, waiter.limit));
+            } catch (GoneException e) {
+                waiter.result.setErrorResult(e);
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    // Sin since devuelve solo el cursor actual: se guarda antes de descargar el catálogo y se continúa desde él.
+    // Si no hay cambios, espera hasta wait a que llegue alguno
+    public DeferredResult<ChangeFeedDTO> getChanges(String since, int limit, Duration wait) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit debe estar entre 1 y " + MAX_LIMIT);
+        }
+        if (wait.isNegative() || wait.compareTo(properties.getMaxWait()) > 0) {
+            throw new BadRequestException("wait debe estar entre 0 y " + properties.getMaxWait().toSeconds() + " segundos");
+        }
+        long sequence = position(since);
+        DeferredResult<ChangeFeedDTO> result = new DeferredResult<>(wait.toMillis());
+        // Leer y apuntarse a la espera bajo el mismo cerrojo que append: ningún cambio se pierde entre ambos
+        synchronized (this) {
+            ChangeFeedDTO feed = read(sequence, limit);
+            if (!feed.getChanges().isEmpty() || wait.isZero() || since == null || since.isBlank()) {
+                result.setResult(feed);
+                return result;
+            }
+            Waiter waiter = new Waiter(sequence, limit, result);
+            waiters.add(waiter);
+            result.onTimeout(() -> result.setResult(feed));
+            result.onCompletion(() -> removeWaiter(waiter));
+        }
+        return result;
+    }
+
+    // Envía los cambios posteriores a since y después cada cambio nuevo; el id de cada evento es su cursor,
+    // así que el navegador reanuda desde el último recibido (Last-Event-ID) al reconectar
+    public SseEmitter streamChanges(String since) {
+        long sequence = position(since);
+        if (changeLog.since(sequence, 0) == null) {
+            throw new GoneException(EXPIRED_MESSAGE);
+        }
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, sequence);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.forEach(this::drop);
+    }
+
+    private long position(String since) {
+        if (since == null || since.isBlank()) {
+            return changeLog.lastSequence();
+        }
+        ChangeCursor cursor = ChangeCursor.decode(since);
+        if (!cursor.getEpoch().equals(epoch)) {
+            throw new GoneException(EXPIRED_MESSAGE);
+        }
+        return cursor.getSequence();
+    }
+
+    private ChangeFeedDTO read(long sequence, int limit) {
+        List<ChangeLog.Entry<BeerChange>> entries = changeLog.since(sequence, limit + 1);
+        if (entries == null) {
+            throw new GoneException(EXPIRED_MESSAGE);
+        }
+        boolean hasMore = entries.size() > limit;
+        if (hasMore) {
+            entries = entries.subList(0, limit);
+        }
+        long next = entries.isEmpty() ? sequence : entries.get(entries.size() - 1).getSequence();
+        return ChangeFeedDTO.builder()
+                .changes(entries.stream().map(this::toDTO).collect(Collectors.toList()))
+                .nextCursor(new ChangeCursor(epoch, next).encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // Apunta que el suscriptor tiene algo que enviar y, si no tiene ya una tarea, le pone una en el pool: nunca
+    // hay dos envíos a la vez al mismo emisor, así que recibe sus eventos en orden y una sola vez
+    private void schedule(Subscriber subscriber) {
+        subscriber.pending = true;
+        if (!subscriber.closed.get() && subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sendExecutor.execute(() -> deliver(subscriber));
+            } catch (RejectedExecutionException e) {
+                // scheduled sigue a true y no hay ningún envío en curso: se cierra aquí
+                log.warn("Cola de envíos de cambios llena: se desconecta un suscriptor");
+                subscriber.closed.set(true);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    // Quien tiene scheduled a true es el único que puede escribir en el emisor, y también quien lo cierra si el
+    // suscriptor se ha dado de baja entretanto
+    private void deliver(Subscriber subscriber) {
+        subscriber.pending = false;
+        subscriber.sendingSince = System.nanoTime();
+        try {
+            drain(subscriber);
+            if (!subscriber.closed.get() && subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // El emisor ya no admite nada, ni siquiera complete; scheduled se queda a true
+            log.debug("Suscriptor de cambios desconectado: {}", e.getMessage());
+            subscriber.closed.set(true);
+            subscribers.remove(subscriber);
+            return;
+        } finally {
+            subscriber.sendingSince = 0;
+        }
+        if (!subscriber.closed.get()) {
+            subscriber.scheduled.set(false);
+            if (!subscriber.closed.get()) {
+                if (subscriber.pending) {
+                    // Llegó algo mientras se enviaba: otra tarea al final de la cola, sin acaparar el hilo
+                    schedule(subscriber);
+                }
+                return;
+            }
+            // Baja justo antes de soltar scheduled: drop no pudo cerrar el emisor. Lo cierra quien recupere scheduled
+            if (!subscriber.scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+        // complete comparte el cerrojo del emisor con send: se cierra cuando ya no hay un envío en curso.
+        // scheduled se queda a true, así que no habrá más tareas
+        subscriber.emitter.complete();
+    }
+
+    private void drain(Subscriber subscriber) throws IOException {
+        List<ChangeLog.Entry<BeerChange>> entries;
+        while (!subscriber.closed.get()
+                && (entries = changeLog.since(subscriber.sequence, MAX_LIMIT)) != null && !entries.isEmpty()) {
+            for (ChangeLog.Entry<BeerChange> entry : entries) {
+                if (subscriber.closed.get()) {
+                    return;
+                }
+                BeerChangeDTO change = toDTO(entry);
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(change.getCursor())
+                        .name(CHANGE_EVENT)
+                        .data(change, MediaType.APPLICATION_JSON));
+                subscriber.sequence = entry.getSequence();
+            }
+        }
+        if (!subscriber.closed.get() && changeLog.since(subscriber.sequence, 0) == null) {
+            // Se quedó tan atrás que la retención descartó cambios que no recibió
+            subscriber.emitter.send(SseEmitter.event().name(EXPIRED_EVENT).data(EXPIRED_MESSAGE));
+            drop(subscriber);
+        }
+    }
+
+    // Mantiene abiertas las conexiones a través de proxies y detecta antes a los clientes que se han ido. También
+    // desconecta a quien lleva más de sseSendTimeout en un mismo envío: deja de recibir tareas y su conexión se
+    // cierra cuando el contenedor aborta la escritura bloqueada
+    private void heartbeat() {
+        long now = System.nanoTime();
+        long timeout = properties.getSseSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            long sendingSince = subscriber.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > timeout) {
+                log.warn("Suscriptor de cambios desconectado: lleva más de {} s en un envío",
+                        properties.getSseSendTimeout().toSeconds());
+                drop(subscriber);
+            } else {
+                subscriber.heartbeatDue = true;
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Da de baja al suscriptor una sola vez. Sin tarea en cola ni en curso se cierra ya; si la hay, la cierra esa
+    // tarea sin escribir nada más. Solo uno de los dos consigue poner scheduled a true
+    private void drop(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            if (subscriber.scheduled.compareAndSet(false, true)) {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private synchronized void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+    }
+
+    private BeerChangeDTO toDTO(ChangeLog.Entry<BeerChange> entry) {
+        BeerChange change = entry.getChange();
+        return BeerChangeDTO.builder()
+                .cursor(new ChangeCursor(epoch, entry.getSequence()).encode())
+                .type(change.getType().name())
+                .beerId(change.getBeerId())
+                .changedAt(LocalDateTime.ofInstant(entry.getRecordedAt(), ZoneId.systemDefault()))
+                .fields(change.getType() != BeerChangedEvent.Type.DELETED ? change.getFields() : null)
+                .build();
+    }
+
+    private static final class Waiter {
+
+        private final long sequence;
+        private final int limit;
+        private final DeferredResult<ChangeFeedDTO> result;
+
+        private Waiter(long sequence, int limit, DeferredResult<ChangeFeedDTO> result) {
+            this.sequence = sequence;
+            this.limit = limit;
+            this.result = result;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        // Solo lo tocan las tareas de envío, que nunca son dos a la vez
+        private long sequence;
+        // Hay una tarea de envío en cola o en curso
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean pending;
+        private volatile boolean heartbeatDue;
+        // Dado de baja: ninguna tarea vuelve a escribir ni a ponerse en cola
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() al empezar el envío en curso, 0 si no hay ninguno
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter, long sequence) {
+            this.emitter = emitter;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.kata.api.service;
+
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.repository.BeerSortField;
+import com.kata.api.repository.projection.BeerSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posición opaca en el listado por clave (keyset): campo de ordenación, valor e id de la última cerveza devuelta
+@Getter
+@AllArgsConstructor
+public class BeerCursor {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "n";
+    private static final String PRESENT_VALUE = "v";
+
+    private final BeerSortField sort;
+    private final Integer lastId;
+    private final Object lastValue;
+
+    public static BeerCursor after(BeerSortField sort, BeerSummary beer) {
+        Object value = switch (sort) {
+            case ID -> beer.getId();
+            case NAME -> beer.getName();
+            case ABV -> beer.getAbv();
+            case IBU -> beer.getIbu();
+        };
+        return new BeerCursor(sort, beer.getId(), value);
+    }
+
+    public String encode() {
+        // El valor va al final porque un nombre puede contener el separador
+        String value = lastValue != null ? PRESENT_VALUE + lastValue : NULL_VALUE;
+        String raw = sort.getKey() + SEPARATOR + lastId + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BeerCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 3);
+            BeerSortField sort = BeerSortField.fromKey(parts[0]);
+            Integer lastId = Integer.valueOf(parts[1]);
+            return new BeerCursor(sort, lastId, decodeValue(sort, parts[2]));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Cursor de paginación no válido: " + token);
+        }
+    }
+
+    private static Object decodeValue(BeerSortField sort, String value) {
+        if (value.equals(NULL_VALUE) && sort.isNullable()) {
+            return null;
+        }
+        if (!value.startsWith(PRESENT_VALUE)) {
+            throw new IllegalArgumentException("Valor de cursor no válido");
+        }
+        String text = value.substring(PRESENT_VALUE.length());
+        return switch (sort) {
+            case ID -> Integer.valueOf(text);
+            case NAME -> text;
+            case ABV, IBU -> Double.valueOf(text);
+        };
+    }
+}
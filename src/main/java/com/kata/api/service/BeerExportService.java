@@ -0,0 +1,113 @@
+package com.kata.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.entity.Beer;
+import com.kata.api.repository.BeerRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerExportService {
+
+    private static final String CSV_HEADER = "id,name,description,abv,ibu,breweryId,styleId,categoryId";
+
+    private final BeerRepository beerRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        log.info("Exportando catálogo de cervezas en NDJSON");
+        // Una cerveza por línea: sin indentación aunque la API la tenga activada
+        SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+        long count = 0;
+        try (Stream<Beer> beers = beerRepository.streamAllOrderById()) {
+            Iterator<Beer> iterator = beers.iterator();
+            while (iterator.hasNext()) {
+                writer.write(toExportDTO(iterator.next()));
+                count = releaseIfNeeded(count + 1);
+            }
+        }
+        writer.flush();
+        out.write('\n');
+        log.info("Exportadas {} cervezas en NDJSON", count);
+        return count;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportCsv(OutputStream out) throws IOException {
+        log.info("Exportando catálogo de cervezas en CSV");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        try (Stream<Beer> beers = beerRepository.streamAllOrderById()) {
+            Iterator<Beer> iterator = beers.iterator();
+            while (iterator.hasNext()) {
+                BeerDTO beer = toExportDTO(iterator.next());
+                writer.write(String.join(",",
+                        csv(beer.getId()), csv(beer.getName()), csv(beer.getDescription()),
+                        csv(beer.getAbv()), csv(beer.getIbu()),
+                        csv(beer.getBreweryId()), csv(beer.getStyleId()), csv(beer.getCategoryId())));
+                writer.write('\n');
+                count = releaseIfNeeded(count + 1);
+            }
+        }
+        writer.flush();
+        log.info("Exportadas {} cervezas en CSV", count);
+        return count;
+    }
+
+    // Vacía el contexto de persistencia cada bloque para que la memoria no crezca con la tabla
+    private long releaseIfNeeded(long count) {
+        if (count % BeerRepository.EXPORT_FETCH_SIZE == 0) {
+            entityManager.clear();
+        }
+        return count;
+    }
+
+    // Las relaciones se exportan solo como ids: leer el id de un proxy LAZY no lanza consultas
+    private BeerDTO toExportDTO(Beer beer) {
+        return BeerDTO.builder()
+                .id(beer.getId())
+                .name(beer.getName())
+                .description(beer.getDescription())
+                .abv(beer.getAbv())
+                .ibu(beer.getIbu())
+                .breweryId(beer.getBrewery() != null ? beer.getBrewery().getId() : null)
+                .styleId(beer.getStyle() != null ? beer.getStyle().getId() : null)
+                .categoryId(beer.getCategory() != null ? beer.getCategory().getId() : null)
+                .build();
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
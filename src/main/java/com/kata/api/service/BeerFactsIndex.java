@@ -0,0 +1,52 @@
+package com.kata.api.service;
+
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.readmodel.BeerFacts;
+import com.kata.api.repository.BeerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Última versión conocida de cada cerveza, sin textos, compartida por las estadísticas: los borrados (un DELETE
+// directo) solo llevan el id, y los valores anteriores para restarlos salen de aquí
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerFactsIndex {
+
+    private final BeerRepository beerRepository;
+    private final List<BeerFactsListener> listeners;
+
+    private final Map<Integer, BeerFacts> beers = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        beers.clear();
+        beerRepository.findAllSnapshots().forEach(beer -> beers.put(beer.getId(), BeerFacts.of(beer)));
+        listeners.forEach(listener -> listener.rebuild(beers.values()));
+        log.info("Estadísticas de cervezas calculadas con {} cervezas en {} ms",
+                beers.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onBeerChanged(BeerChangedEvent event) {
+        BeerFacts before = beers.remove(event.getBeerId());
+        BeerFacts after = event.getType() != BeerChangedEvent.Type.DELETED ? BeerFacts.of(event.getAfter()) : null;
+        if (after != null) {
+            beers.put(after.getId(), after);
+        }
+        if (before != null || after != null) {
+            listeners.forEach(listener -> listener.onBeerChanged(before, after));
+        }
+    }
+}
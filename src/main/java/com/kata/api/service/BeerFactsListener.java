@@ -0,0 +1,14 @@
+package com.kata.api.service;
+
+import com.kata.api.readmodel.BeerFacts;
+
+import java.util.Collection;
+
+// Estadísticas que BeerFactsIndex mantiene al día: reciben el catálogo al arrancar y luego cada cambio
+public interface BeerFactsListener {
+
+    void rebuild(Collection<BeerFacts> beers);
+
+    // before es null en las altas y after en los borrados
+    void onBeerChanged(BeerFacts before, BeerFacts after);
+}
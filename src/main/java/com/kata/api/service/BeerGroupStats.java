@@ -0,0 +1,85 @@
+package com.kata.api.service;
+
+import com.kata.api.dto.BeerStatsDTO;
+import com.kata.api.dto.DistributionDTO;
+import com.kata.api.dto.HistogramBucketDTO;
+import com.kata.api.readmodel.BeerFacts;
+import com.kata.api.stats.FixedBucketHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Recuento e histogramas de ABV e IBU de las cervezas de un estilo o una categoría
+class BeerGroupStats {
+
+    // ABV en cubetas de 0,5 hasta 20 e IBU de 5 en 5 hasta 150; por encima, cubeta abierta
+    private static final double ABV_BUCKET_WIDTH = 0.5;
+    private static final int ABV_BUCKETS = 41;
+    private static final double IBU_BUCKET_WIDTH = 5.0;
+    private static final int IBU_BUCKETS = 31;
+
+    private static final Map<String, Double> QUANTILES = Map.of(
+            "p25", 0.25, "p50", 0.50, "p75", 0.75, "p90", 0.90, "p99", 0.99);
+
+    private long beerCount;
+    private final FixedBucketHistogram abv = new FixedBucketHistogram(ABV_BUCKET_WIDTH, ABV_BUCKETS);
+    private final FixedBucketHistogram ibu = new FixedBucketHistogram(IBU_BUCKET_WIDTH, IBU_BUCKETS);
+
+    synchronized void add(BeerFacts beer) {
+        beerCount++;
+        if (beer.getAbv() != null) {
+            abv.add(beer.getAbv());
+        }
+        if (beer.getIbu() != null) {
+            ibu.add(beer.getIbu());
+        }
+    }
+
+    // false si la cerveza no estaba contada; los recuentos no bajan de cero
+    synchronized boolean remove(BeerFacts beer) {
+        boolean consistent = beerCount > 0;
+        beerCount = Math.max(0, beerCount - 1);
+        if (beer.getAbv() != null) {
+            consistent &= abv.remove(beer.getAbv());
+        }
+        if (beer.getIbu() != null) {
+            consistent &= ibu.remove(beer.getIbu());
+        }
+        return consistent;
+    }
+
+    synchronized BeerStatsDTO toDTO(Integer id, String name) {
+        return BeerStatsDTO.builder()
+                .id(id)
+                .name(name)
+                .beerCount(beerCount)
+                .abv(toDTO(abv))
+                .ibu(toDTO(ibu))
+                .build();
+    }
+
+    private static DistributionDTO toDTO(FixedBucketHistogram histogram) {
+        Map<String, Double> quantiles = new LinkedHashMap<>();
+        QUANTILES.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(quantile -> quantiles.put(quantile.getKey(), histogram.quantile(quantile.getValue())));
+
+        long[] counts = histogram.getCounts();
+        List<HistogramBucketDTO> buckets = new ArrayList<>(counts.length);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            buckets.add(HistogramBucketDTO.builder()
+                    .from(histogram.getLowerBound(bucket))
+                    .to(histogram.getUpperBound(bucket))
+                    .count(counts[bucket])
+                    .build());
+        }
+        return DistributionDTO.builder()
+                .count(histogram.getCount())
+                .mean(histogram.getMean())
+                .quantiles(histogram.getCount() > 0 ? quantiles : null)
+                .buckets(buckets)
+                .build();
+    }
+}
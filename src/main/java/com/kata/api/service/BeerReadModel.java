@@ -0,0 +1,92 @@
+package com.kata.api.service;
+
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.readmodel.BeerColumns;
+import com.kata.api.repository.BeerRepository;
+import com.kata.api.repository.projection.BeerSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Catálogo por columnas para los listados filtrados y ordenados por id, ABV o IBU; cada transacción que escribe
+// cervezas publica una copia nueva al confirmarse
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerReadModel {
+
+    private final BeerRepository beerRepository;
+
+    // null hasta que termina la primera carga: mientras tanto los listados van a la base de datos
+    private volatile BeerColumns columns;
+
+    public BeerColumns current() {
+        return columns;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        columns = BeerColumns.of(beerRepository.findAllSnapshots());
+        log.info("Modelo de lectura por columnas construido con {} cervezas en {} ms",
+                columns.size(), System.currentTimeMillis() - start);
+    }
+
+    // Los cambios se acumulan durante la transacción y se aplican juntos tras el commit: un POST /beers/batch de
+    // 1000 cervezas genera una sola copia, no 1000. Como @TransactionalEventListener, fuera de una transacción se ignoran
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<BeerChangedEvent> pending = (List<BeerChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<BeerChangedEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BeerReadModel.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(events);
+                    }
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    synchronized void apply(List<BeerChangedEvent> events) {
+        BeerColumns current = columns;
+        if (current == null) {
+            return;
+        }
+        // Solo cuenta el último cambio de cada cerveza; null es un borrado
+        Map<Integer, BeerSnapshot> latest = new LinkedHashMap<>();
+        events.forEach(event -> latest.put(event.getBeerId(),
+                event.getType() == BeerChangedEvent.Type.DELETED ? null : event.getAfter()));
+        List<BeerSnapshot> upserts = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        latest.forEach((id, beer) -> {
+            if (beer != null) {
+                upserts.add(beer);
+            } else {
+                deletes.add(id);
+            }
+        });
+        columns = current.apply(upserts, deletes);
+    }
+}
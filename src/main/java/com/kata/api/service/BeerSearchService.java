@@ -0,0 +1,154 @@
+package com.kata.api.service;
+
+import com.kata.api.dto.BeerSearchHitDTO;
+import com.kata.api.dto.BeerSearchResultDTO;
+import com.kata.api.dto.SuggestionDTO;
+import com.kata.api.entity.Brewery;
+import com.kata.api.entity.Style;
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.repository.BeerRepository;
+import com.kata.api.repository.BreweryRepository;
+import com.kata.api.repository.StyleRepository;
+import com.kata.api.repository.projection.BeerSnapshot;
+import com.kata.api.search.InvertedIndex;
+import com.kata.api.search.PrefixSuggester;
+import com.kata.api.search.TextTokenizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Búsqueda de texto completo en memoria sobre nombre, descripción, cervecería y estilo de cada cerveza
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // Pesos por campo: una coincidencia en el nombre cuenta más que en la descripción
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float BREWERY_WEIGHT = 2.0f;
+    private static final float STYLE_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private final BeerRepository beerRepository;
+    private final BreweryRepository breweryRepository;
+    private final StyleRepository styleRepository;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final PrefixSuggester suggester = new PrefixSuggester();
+    private final Map<Integer, BeerSearchHitDTO> hits = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Integer, String> breweryNames = breweryRepository.findAll().stream()
+                .collect(Collectors.toMap(Brewery::getId, Brewery::getName));
+        Map<Integer, String> styleNames = styleRepository.findAll().stream()
+                .collect(Collectors.toMap(Style::getId, Style::getName));
+
+        index.clear();
+        hits.clear();
+        suggester.clear();
+        List<BeerSnapshot> beers = beerRepository.findAllSnapshots();
+        beers.forEach(beer -> put(beer, breweryNames::get, styleNames::get));
+        log.info("Índice de búsqueda construido con {} cervezas en {} ms", beers.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (event.getType() == BeerChangedEvent.Type.DELETED) {
+            index.remove(event.getBeerId());
+            hits.remove(event.getBeerId());
+            suggester.remove(event.getBeerId());
+        } else {
+            put(event.getAfter(),
+                    id -> breweryRepository.findById(id).map(Brewery::getName).orElse(null),
+                    id -> styleRepository.findById(id).map(Style::getName).orElse(null));
+        }
+    }
+
+    public BeerSearchResultDTO search(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("El texto de búsqueda es requerido");
+        }
+        if (offset < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("offset debe ser positivo y limit estar entre 1 y " + MAX_LIMIT);
+        }
+
+        List<InvertedIndex.ScoredDocument> matches = index.search(TextTokenizer.tokenize(query).stream().distinct().toList());
+        List<BeerSearchHitDTO> items = matches.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(match -> withScore(hits.get(match.getDocId()), match.getScore()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        return BeerSearchResultDTO.builder()
+                .query(query)
+                .total(matches.size())
+                .offset(offset)
+                .limit(limit)
+                .items(items)
+                .build();
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("El prefijo es requerido");
+        }
+        if (limit < 1 || limit > PrefixSuggester.MAX_SUGGESTIONS) {
+            throw new BadRequestException("limit debe estar entre 1 y " + PrefixSuggester.MAX_SUGGESTIONS);
+        }
+        return suggester.suggest(prefix, limit).stream()
+                .map(suggestion -> new SuggestionDTO(suggestion.getId(), suggestion.getName()))
+                .collect(Collectors.toList());
+    }
+
+    private void put(BeerSnapshot beer, Function<Integer, String> breweryNames, Function<Integer, String> styleNames) {
+        String breweryName = beer.getBreweryId() != null ? breweryNames.apply(beer.getBreweryId()) : null;
+        String styleName = beer.getStyleId() != null ? styleNames.apply(beer.getStyleId()) : null;
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, beer.getName(), NAME_WEIGHT);
+        addTerms(terms, breweryName, BREWERY_WEIGHT);
+        addTerms(terms, styleName, STYLE_WEIGHT);
+        addTerms(terms, beer.getDescription(), DESCRIPTION_WEIGHT);
+
+        hits.put(beer.getId(), BeerSearchHitDTO.builder()
+                .id(beer.getId())
+                .name(beer.getName())
+                .abv(beer.getAbv())
+                .ibu(beer.getIbu())
+                .breweryId(beer.getBreweryId())
+                .breweryName(breweryName)
+                .styleId(beer.getStyleId())
+                .styleName(styleName)
+                .build());
+        index.put(beer.getId(), terms);
+        suggester.put(beer.getId(), beer.getName());
+    }
+
+    private static BeerSearchHitDTO withScore(BeerSearchHitDTO hit, float score) {
+        return hit != null ? hit.toBuilder().score(score).build() : null;
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        TextTokenizer.tokenize(text).forEach(term -> terms.merge(term, weight, Float::sum));
+    }
+}
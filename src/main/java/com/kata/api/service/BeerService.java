@@ -1,22 +1,51 @@
 package com.kata.api.service;
 
+import com.kata.api.dto.BatchItemResultDTO;
+import com.kata.api.dto.BatchResultDTO;
 import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.dto.BeerPatchDTO;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.dto.FacetCountDTO;
 import com.kata.api.entity.Beer;
 import com.kata.api.entity.Brewery;
 import com.kata.api.entity.Category;
 import com.kata.api.entity.Style;
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.exception.PreconditionFailedException;
 import com.kata.api.exception.ResourceNotFoundException;
 import com.kata.api.mapper.BeerMapper;
+import com.kata.api.mapper.BeerSummaryMapper;
+import com.kata.api.readmodel.BeerColumns;
 import com.kata.api.repository.BeerRepository;
+import com.kata.api.repository.BeerSortField;
+import com.kata.api.repository.BeerSpecifications;
 import com.kata.api.repository.BreweryRepository;
 import com.kata.api.repository.CategoryRepository;
 import com.kata.api.repository.StyleRepository;
+import com.kata.api.repository.projection.BeerSnapshot;
+import com.kata.api.repository.projection.BeerSummary;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -26,25 +55,171 @@ public class BeerService {
 
     private final BeerRepository beerRepository;
     private final BeerMapper beerMapper;
+    private final BeerSummaryMapper beerSummaryMapper;
     private final BreweryRepository breweryRepository;
     private final StyleRepository styleRepository;
     private final CategoryRepository categoryRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BeerReadModel beerReadModel;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int DEFAULT_TOP_LIMIT = 50;
+    public static final int MAX_TOP_LIMIT = 100;
 
     @Transactional(readOnly = true)
-    public List<BeerDTO> getAllBeers() {
-        log.info("Obteniendo todas las cervezas");
-        return beerRepository.findAll()
+    public CursorPageDTO<BeerDTO> getBeersPage(String sortKey, String after, int size, BeerFilter filter, boolean facets) {
+        log.info("Obteniendo página de cervezas: sort={}, after={}, size={}, filter={}", sortKey, after, size, filter);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        validateRange("abv", filter.getAbvMin(), filter.getAbvMax());
+        validateRange("ibu", filter.getIbuMin(), filter.getIbuMax());
+
+        BeerSortField sort = BeerSortField.fromKey(sortKey);
+        BeerCursor cursor = null;
+        if (after != null) {
+            cursor = BeerCursor.decode(after);
+            if (cursor.getSort() != sort) {
+                throw new BadRequestException("El cursor no corresponde a la ordenación por " + sort.getKey());
+            }
+        }
+
+        // Sin nombres en el modelo por columnas: ordenar o filtrar por nombre sigue yendo a la base de datos
+        BeerColumns columns = beerReadModel.current();
+        boolean inMemory = columns != null && sort != BeerSortField.NAME
+                && (filter.getNamePrefix() == null || filter.getNamePrefix().isBlank());
+
+        // Se pide una fila de más para saber si existe página siguiente sin contar la tabla
+        List<BeerSummary> beers;
+        boolean hasNext;
+        BeerCursor next = null;
+        if (inMemory) {
+            int[] ids = findIdsInMemory(columns, filter, sort, cursor, size + 1);
+            // La página y el cursor salen del modelo: una fila que la réplica aún no tiene, o que se acaba de
+            // borrar, falta en la respuesta pero no corta la paginación
+            hasNext = ids.length > size;
+            if (hasNext) {
+                ids = Arrays.copyOf(ids, size);
+                int lastId = ids[size - 1];
+                next = new BeerCursor(sort, lastId, sort == BeerSortField.ID ? lastId : columns.valueOf(sort, lastId));
+            }
+            beers = findSummariesInOrder(ids);
+        } else {
+            beers = findSummaries(filter, sort, cursor, size + 1);
+            hasNext = beers.size() > size;
+            if (hasNext) {
+                beers = beers.subList(0, size);
+                next = BeerCursor.after(sort, beers.get(beers.size() - 1));
+            }
+        }
+
+        return CursorPageDTO.<BeerDTO>builder()
+                .items(beers.stream().map(beerSummaryMapper::toDTO).collect(Collectors.toList()))
+                .size(beers.size())
+                .sort(sort.getKey())
+                .nextCursor(next != null ? next.encode() : null)
+                .hasNext(hasNext)
+                .facets(facets ? (inMemory ? countFacetsInMemory(columns, filter) : countFacets(filter)) : null)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<BeerDTO> getTopBeers(String by, Integer styleId, Integer categoryId, int limit) {
+        log.info("Obteniendo ranking de cervezas: by={}, styleId={}, categoryId={}, limit={}", by, styleId, categoryId, limit);
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            throw new BadRequestException("limit debe estar entre 1 y " + MAX_TOP_LIMIT);
+        }
+        BeerSortField field = BeerSortField.fromKey(by);
+        if (!field.isNumeric()) {
+            throw new BadRequestException("Solo hay rankings por abv o ibu");
+        }
+
+        BeerColumns columns = beerReadModel.current();
+        List<BeerSummary> beers = columns != null
+                ? findSummariesInOrder(columns.top(field, styleId, categoryId, limit))
+                : beerRepository.findTopSummaries(BeerSpecifications.matching(
+                        BeerFilter.builder().styleId(styleId).categoryId(categoryId).build()), field, limit);
+        return beers.stream().map(beerSummaryMapper::toDTO).collect(Collectors.toList());
+    }
+
+    private List<BeerSummary> findSummaries(BeerFilter filter, BeerSortField sort, BeerCursor cursor, int limit) {
+        Specification<Beer> spec = BeerSpecifications.matching(filter);
+        if (cursor != null) {
+            spec = spec.and(BeerSpecifications.after(sort, cursor.getLastValue(), cursor.getLastId()));
+        }
+        return beerRepository.findSummaries(spec, sort, limit);
+    }
+
+    // Filtro y orden con un recorrido de arrays; a la base de datos solo van los ids de la página
+    private static int[] findIdsInMemory(BeerColumns columns, BeerFilter filter, BeerSortField sort,
+                                         BeerCursor cursor, int limit) {
+        Double afterValue = cursor != null && sort.isNumeric() ? (Double) cursor.getLastValue() : null;
+        return columns.find(filter, sort, afterValue, cursor != null ? cursor.getLastId() : null, limit);
+    }
+
+    private List<BeerSummary> findSummariesInOrder(int[] ids) {
+        Map<Integer, BeerSummary> byId = beerRepository.findSummariesByIds(Arrays.stream(ids).boxed().collect(Collectors.toList()))
                 .stream()
-                .map(beerMapper::toDTO)
+                .collect(Collectors.toMap(BeerSummary::getId, Function.identity()));
+        // Una cerveza borrada entre la búsqueda y la carga simplemente no aparece
+        return Arrays.stream(ids)
+                .mapToObj(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, List<FacetCountDTO>> countFacets(BeerFilter filter) {
+        Specification<Beer> matching = BeerSpecifications.matching(filter);
+        return Map.of(
+                "style", beerRepository.countByStyle(matching),
+                "category", beerRepository.countByCategory(matching));
+    }
+
+    private Map<String, List<FacetCountDTO>> countFacetsInMemory(BeerColumns columns, BeerFilter filter) {
+        Map<Integer, String> styleNames = styleRepository.findAll().stream()
+                .collect(Collectors.toMap(Style::getId, Style::getName));
+        Map<Integer, String> categoryNames = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+        return Map.of(
+                "style", toFacets(columns.countByStyle(filter), styleNames),
+                "category", toFacets(columns.countByCategory(filter), categoryNames));
+    }
+
+    // De más a menos cervezas y, a igualdad, por id: el mismo orden que los recuentos en SQL
+    private static List<FacetCountDTO> toFacets(Map<Integer, Long> counts, Map<Integer, String> names) {
+        return counts.entrySet().stream()
+                .map(entry -> new FacetCountDTO(entry.getKey(), names.get(entry.getKey()), entry.getValue()))
+                .sorted(Comparator.comparing(FacetCountDTO::getCount).reversed().thenComparing(FacetCountDTO::getId))
                 .collect(Collectors.toList());
     }
 
+    private static void validateRange(String field, Double min, Double max) {
+        if (min != null && max != null && min > max) {
+            throw new BadRequestException("El mínimo de " + field + " no puede ser mayor que el máximo");
+        }
+    }
+
     @Transactional(readOnly = true)
     public BeerDTO getBeerById(Integer id) {
+        return getVersionedBeerById(id).getBody();
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<BeerDTO> getVersionedBeerById(Integer id) {
         log.info("Obteniendo cerveza con id: {}", id);
-        Beer beer = beerRepository.findById(id)
+        Beer beer = beerRepository.findWithAssociationsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+        return new Versioned<>(beerMapper.toDTO(beer), beer.getVersion());
+    }
+
+    @Transactional(readOnly = true)
+    public Long getBeerVersion(Integer id) {
+        return beerRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
-        return beerMapper.toDTO(beer);
     }
 
     @Transactional
@@ -52,118 +227,349 @@ public class BeerService {
         log.info("Creando nueva cerveza: {}", beerDTO.getName());
         Beer beer = beerMapper.toEntity(beerDTO);
 
-        // Cargar relaciones si existen IDs
+        // Asignar relaciones si existen IDs
         if (beerDTO.getBreweryId() != null) {
-            Brewery brewery = breweryRepository.findById(beerDTO.getBreweryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Cervecería no encontrada con id: " + beerDTO.getBreweryId()));
-            beer.setBrewery(brewery);
+            beer.setBrewery(breweryReference(beerDTO.getBreweryId()));
         }
-
         if (beerDTO.getStyleId() != null) {
-            Style style = styleRepository.findById(beerDTO.getStyleId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Estilo no encontrado con id: " + beerDTO.getStyleId()));
-            beer.setStyle(style);
+            beer.setStyle(styleReference(beerDTO.getStyleId()));
         }
-
         if (beerDTO.getCategoryId() != null) {
-            Category category = categoryRepository.findById(beerDTO.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con id: " + beerDTO.getCategoryId()));
-            beer.setCategory(category);
+            beer.setCategory(categoryReference(beerDTO.getCategoryId()));
         }
 
         Beer savedBeer = beerRepository.save(beer);
+        eventPublisher.publishEvent(BeerChangedEvent.created(BeerSnapshot.of(savedBeer)));
         log.info("Cerveza creada con id: {}", savedBeer.getId());
         return beerMapper.toDTO(savedBeer);
     }
 
     @Transactional
-    public BeerDTO updateBeer(Integer id, BeerDTO beerDTO) {
-        log.info("Actualizando cerveza con id: {}", id);
-        Beer beer = beerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+    public BatchResultDTO createBeers(List<BeerDTO> beerDTOs) {
+        log.info("Creando lote de {} cervezas", beerDTOs.size());
+        if (beerDTOs.isEmpty() || beerDTOs.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("El lote debe contener entre 1 y " + MAX_BATCH_SIZE + " cervezas");
+        }
 
-        beerMapper.updateEntity(beerDTO, beer);
+        // Una sola consulta por tipo de referencia para todo el lote
+        Map<Integer, Brewery> breweries = breweryRepository.findAllById(collectIds(beerDTOs, BeerDTO::getBreweryId))
+                .stream().collect(Collectors.toMap(Brewery::getId, Function.identity()));
+        Map<Integer, Style> styles = styleRepository.findAllById(collectIds(beerDTOs, BeerDTO::getStyleId))
+                .stream().collect(Collectors.toMap(Style::getId, Function.identity()));
+        Map<Integer, Category> categories = categoryRepository.findAllById(collectIds(beerDTOs, BeerDTO::getCategoryId))
+                .stream().collect(Collectors.toMap(Category::getId, Function.identity()));
 
-        // Actualizar relaciones si existen IDs
-        if (beerDTO.getBreweryId() != null) {
-            Brewery brewery = breweryRepository.findById(beerDTO.getBreweryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Cervecería no encontrada con id: " + beerDTO.getBreweryId()));
-            beer.setBrewery(brewery);
-        } else {
-            beer.setBrewery(null);
+        List<BatchItemResultDTO> results = new ArrayList<>(beerDTOs.size());
+        List<BatchItemResultDTO> created = new ArrayList<>();
+        List<Beer> beers = new ArrayList<>();
+        for (int index = 0; index < beerDTOs.size(); index++) {
+            BeerDTO beerDTO = beerDTOs.get(index);
+            BatchItemResultDTO result = BatchItemResultDTO.builder().index(index).build();
+            results.add(result);
+
+            Map<String, String> errors = validate(beerDTO);
+            if (!errors.isEmpty()) {
+                result.setStatus(BatchItemResultDTO.INVALID);
+                result.setMessage("Error de validación");
+                result.setErrors(errors);
+                continue;
+            }
+
+            String missingReference = findMissingReference(beerDTO, breweries, styles, categories);
+            if (missingReference != null) {
+                result.setStatus(BatchItemResultDTO.NOT_FOUND);
+                result.setMessage(missingReference);
+                continue;
+            }
+
+            Beer beer = beerMapper.toEntity(beerDTO);
+            beer.setBrewery(beerDTO.getBreweryId() != null ? breweries.get(beerDTO.getBreweryId()) : null);
+            beer.setStyle(beerDTO.getStyleId() != null ? styles.get(beerDTO.getStyleId()) : null);
+            beer.setCategory(beerDTO.getCategoryId() != null ? categories.get(beerDTO.getCategoryId()) : null);
+            beers.add(beer);
+            result.setStatus(BatchItemResultDTO.CREATED);
+            created.add(result);
         }
 
-        if (beerDTO.getStyleId() != null) {
-            Style style = styleRepository.findById(beerDTO.getStyleId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Estilo no encontrado con id: " + beerDTO.getStyleId()));
-            beer.setStyle(style);
-        } else {
-            beer.setStyle(null);
+        List<Integer> ids = beerRepository.insertAllInBatch(beers);
+        for (int i = 0; i < created.size(); i++) {
+            created.get(i).setId(ids.get(i));
+            beers.get(i).setId(ids.get(i));
+            eventPublisher.publishEvent(BeerChangedEvent.created(BeerSnapshot.of(beers.get(i))));
         }
 
-        if (beerDTO.getCategoryId() != null) {
-            Category category = categoryRepository.findById(beerDTO.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con id: " + beerDTO.getCategoryId()));
-            beer.setCategory(category);
-        } else {
-            beer.setCategory(null);
+        log.info("Lote procesado: {} cervezas creadas de {}", created.size(), beerDTOs.size());
+        return BatchResultDTO.builder()
+                .total(beerDTOs.size())
+                .succeeded(created.size())
+                .failed(beerDTOs.size() - created.size())
+                .results(results)
+                .build();
+    }
+
+    private static Set<Integer> collectIds(List<BeerDTO> beerDTOs, Function<BeerDTO, Integer> idGetter) {
+        return beerDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(idGetter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, String> validate(BeerDTO beerDTO) {
+        if (beerDTO == null) {
+            return Map.of("beer", "La cerveza no puede ser nula");
         }
+        Map<String, String> errors = new HashMap<>();
+        validator.validate(beerDTO).forEach(violation ->
+                errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
+
+    private static String findMissingReference(BeerDTO beerDTO, Map<Integer, Brewery> breweries,
+                                               Map<Integer, Style> styles, Map<Integer, Category> categories) {
+        if (beerDTO.getBreweryId() != null && !breweries.containsKey(beerDTO.getBreweryId())) {
+            return "Cervecería no encontrada con id: " + beerDTO.getBreweryId();
+        }
+        if (beerDTO.getStyleId() != null && !styles.containsKey(beerDTO.getStyleId())) {
+            return "Estilo no encontrado con id: " + beerDTO.getStyleId();
+        }
+        if (beerDTO.getCategoryId() != null && !categories.containsKey(beerDTO.getCategoryId())) {
+            return "Categoría no encontrada con id: " + beerDTO.getCategoryId();
+        }
+        return null;
+    }
+
+    @Transactional
+    public BeerDTO updateBeer(Integer id, BeerDTO beerDTO) {
+        return updateBeer(id, beerDTO, null).getBody();
+    }
+
+    @Transactional
+    public Versioned<BeerDTO> updateBeer(Integer id, BeerDTO beerDTO, Long expectedVersion) {
+        log.info("Actualizando cerveza con id: {}", id);
+        Beer beer = beerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+        checkVersion(beer, expectedVersion);
+        BeerSnapshot before = BeerSnapshot.of(beer);
+
+        beerMapper.updateEntity(beerDTO, beer);
+
+        // Actualizar relaciones: un id ausente deja la relación a null
+        beer.setBrewery(beerDTO.getBreweryId() != null ? breweryReference(beerDTO.getBreweryId()) : null);
+        beer.setStyle(beerDTO.getStyleId() != null ? styleReference(beerDTO.getStyleId()) : null);
+        beer.setCategory(beerDTO.getCategoryId() != null ? categoryReference(beerDTO.getCategoryId()) : null);
 
         Beer updatedBeer = beerRepository.save(beer);
+        // El UPDATE se lanza ya para devolver la versión nueva y detectar aquí una escritura concurrente
+        beerRepository.flush();
+        eventPublisher.publishEvent(BeerChangedEvent.updated(before, BeerSnapshot.of(updatedBeer)));
         log.info("Cerveza actualizada con id: {}", id);
-        return beerMapper.toDTO(updatedBeer);
+        return new Versioned<>(beerMapper.toDTO(updatedBeer), updatedBeer.getVersion());
     }
 
     @Transactional
     public BeerDTO partialUpdateBeer(Integer id, BeerDTO beerDTO) {
+        return partialUpdateBeer(id, beerDTO, null).getBody();
+    }
+
+    @Transactional
+    public Versioned<BeerDTO> partialUpdateBeer(Integer id, BeerDTO beerDTO, Long expectedVersion) {
         log.info("Actualización parcial de cerveza con id: {}", id);
         Beer beer = beerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
+        checkVersion(beer, expectedVersion);
+        BeerSnapshot before = BeerSnapshot.of(beer);
 
-        // Actualizar solo los campos no nulos
-        if (beerDTO.getName() != null) {
-            beer.setName(beerDTO.getName());
-        }
-        if (beerDTO.getDescription() != null) {
-            beer.setDescription(beerDTO.getDescription());
-        }
-        if (beerDTO.getAbv() != null) {
-            beer.setAbv(beerDTO.getAbv());
-        }
-        if (beerDTO.getIbu() != null) {
-            beer.setIbu(beerDTO.getIbu());
+        applyChanges(beer, beerDTO, this::breweryReference, this::styleReference, this::categoryReference);
+
+        Beer updatedBeer = beerRepository.save(beer);
+        // El UPDATE se lanza ya para devolver la versión nueva y detectar aquí una escritura concurrente
+        beerRepository.flush();
+        eventPublisher.publishEvent(BeerChangedEvent.updated(before, BeerSnapshot.of(updatedBeer)));
+        log.info("Cerveza parcialmente actualizada con id: {}", id);
+        return new Versioned<>(beerMapper.toDTO(updatedBeer), updatedBeer.getVersion());
+    }
+
+    @Transactional
+    public BatchResultDTO partialUpdateBeers(List<BeerPatchDTO> patches) {
+        log.info("Actualización parcial de lote de {} cervezas", patches.size());
+        if (patches.isEmpty() || patches.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("El lote debe contener entre 1 y " + MAX_BATCH_SIZE + " cervezas");
         }
 
-        if (beerDTO.getBreweryId() != null) {
-            Brewery brewery = breweryRepository.findById(beerDTO.getBreweryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Cervecería no encontrada con id: " + beerDTO.getBreweryId()));
-            beer.setBrewery(brewery);
+        // Una sola consulta para las cervezas y otra por tipo de referencia para todo el lote
+        List<BeerDTO> changes = patches.stream()
+                .map(patch -> patch != null ? patch.getChanges() : null)
+                .collect(Collectors.toList());
+        Map<Integer, Beer> beers = beerRepository.findAllById(patches.stream()
+                        .filter(Objects::nonNull)
+                        .map(BeerPatchDTO::getId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Beer::getId, Function.identity()));
+        Map<Integer, Brewery> breweries = breweryRepository.findAllById(collectIds(changes, BeerDTO::getBreweryId))
+                .stream().collect(Collectors.toMap(Brewery::getId, Function.identity()));
+        Map<Integer, Style> styles = styleRepository.findAllById(collectIds(changes, BeerDTO::getStyleId))
+                .stream().collect(Collectors.toMap(Style::getId, Function.identity()));
+        Map<Integer, Category> categories = categoryRepository.findAllById(collectIds(changes, BeerDTO::getCategoryId))
+                .stream().collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<BatchItemResultDTO> results = new ArrayList<>(patches.size());
+        List<BatchItemResultDTO> updated = new ArrayList<>();
+        List<Beer> updatedBeers = new ArrayList<>();
+        List<BeerSnapshot> before = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int index = 0; index < patches.size(); index++) {
+            BeerPatchDTO patch = patches.get(index);
+            BatchItemResultDTO result = BatchItemResultDTO.builder().index(index).build();
+            results.add(result);
+
+            Map<String, String> errors = validateChanges(patch);
+            if (!errors.isEmpty()) {
+                result.setId(patch != null ? patch.getId() : null);
+                result.setStatus(BatchItemResultDTO.INVALID);
+                result.setMessage("Error de validación");
+                result.setErrors(errors);
+                continue;
+            }
+            result.setId(patch.getId());
+            if (!seen.add(patch.getId())) {
+                result.setStatus(BatchItemResultDTO.INVALID);
+                result.setMessage("La cerveza con id " + patch.getId() + " aparece más de una vez en el lote");
+                continue;
+            }
+
+            Beer beer = beers.get(patch.getId());
+            if (beer == null) {
+                result.setStatus(BatchItemResultDTO.NOT_FOUND);
+                result.setMessage("Cerveza no encontrada con id: " + patch.getId());
+                continue;
+            }
+            String missingReference = findMissingReference(patch.getChanges(), breweries, styles, categories);
+            if (missingReference != null) {
+                result.setStatus(BatchItemResultDTO.NOT_FOUND);
+                result.setMessage(missingReference);
+                continue;
+            }
+            if (patch.getVersion() != null && !patch.getVersion().equals(beer.getVersion())) {
+                result.setStatus(BatchItemResultDTO.PRECONDITION_FAILED);
+                result.setMessage("La cerveza ha cambiado: versión actual " + beer.getVersion()
+                        + ", esperada " + patch.getVersion());
+                continue;
+            }
+
+            before.add(BeerSnapshot.of(beer));
+            applyChanges(beer, patch.getChanges(), breweries::get, styles::get, categories::get);
+            updatedBeers.add(beer);
+            result.setStatus(BatchItemResultDTO.UPDATED);
+            updated.add(result);
         }
 
-        if (beerDTO.getStyleId() != null) {
-            Style style = styleRepository.findById(beerDTO.getStyleId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Estilo no encontrado con id: " + beerDTO.getStyleId()));
-            beer.setStyle(style);
+        // Un solo flush: los UPDATE van en lotes JDBC (hibernate.jdbc.batch_size) y las versiones quedan actualizadas
+        beerRepository.flush();
+        for (int i = 0; i < updated.size(); i++) {
+            Beer beer = updatedBeers.get(i);
+            updated.get(i).setVersion(beer.getVersion());
+            eventPublisher.publishEvent(BeerChangedEvent.updated(before.get(i), BeerSnapshot.of(beer)));
         }
 
-        if (beerDTO.getCategoryId() != null) {
-            Category category = categoryRepository.findById(beerDTO.getCategoryId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con id: " + beerDTO.getCategoryId()));
-            beer.setCategory(category);
+        log.info("Lote procesado: {} cervezas actualizadas de {}", updated.size(), patches.size());
+        return BatchResultDTO.builder()
+                .total(patches.size())
+                .succeeded(updated.size())
+                .failed(patches.size() - updated.size())
+                .results(results)
+                .build();
+    }
+
+    // En un PATCH los campos nulos no se tocan, así que solo se validan los que vienen informados
+    private Map<String, String> validateChanges(BeerPatchDTO patch) {
+        if (patch == null || patch.getId() == null) {
+            return Map.of("id", "El id de la cerveza es requerido");
         }
+        if (patch.getChanges() == null) {
+            return Map.of("changes", "Los cambios son requeridos");
+        }
+        Map<String, String> errors = new HashMap<>();
+        validator.validate(patch.getChanges()).stream()
+                .filter(violation -> violation.getInvalidValue() != null)
+                .forEach(violation -> errors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+        return errors;
+    }
 
-        Beer updatedBeer = beerRepository.save(beer);
-        log.info("Cerveza parcialmente actualizada con id: {}", id);
-        return beerMapper.toDTO(updatedBeer);
+    // Semántica de PATCH: solo se aplican los campos no nulos
+    private static void applyChanges(Beer beer, BeerDTO changes, Function<Integer, Brewery> brewery,
+                                     Function<Integer, Style> style, Function<Integer, Category> category) {
+        if (changes.getName() != null) {
+            beer.setName(changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            beer.setDescription(changes.getDescription());
+        }
+        if (changes.getAbv() != null) {
+            beer.setAbv(changes.getAbv());
+        }
+        if (changes.getIbu() != null) {
+            beer.setIbu(changes.getIbu());
+        }
+        if (changes.getBreweryId() != null) {
+            beer.setBrewery(brewery.apply(changes.getBreweryId()));
+        }
+        if (changes.getStyleId() != null) {
+            beer.setStyle(style.apply(changes.getStyleId()));
+        }
+        if (changes.getCategoryId() != null) {
+            beer.setCategory(category.apply(changes.getCategoryId()));
+        }
     }
 
     @Transactional
     public void deleteBeer(Integer id) {
+        deleteBeer(id, null);
+    }
+
+    @Transactional
+    public void deleteBeer(Integer id, Long expectedVersion) {
         log.info("Eliminando cerveza con id: {}", id);
-        Beer beer = beerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cerveza no encontrada con id: " + id));
-        beerRepository.delete(beer);
+        int deleted = expectedVersion == null
+                ? beerRepository.deleteBeerById(id)
+                : beerRepository.deleteBeerByIdAndVersion(id, expectedVersion);
+        if (deleted == 0) {
+            // Solo cuando no se borró nada se consulta si la cerveza no existe o tiene otra versión
+            Long version = getBeerVersion(id);
+            throw new PreconditionFailedException("La cerveza con id " + id
+                    + " ha cambiado: versión actual " + version + ", esperada " + expectedVersion);
+        }
+        eventPublisher.publishEvent(BeerChangedEvent.deleted(id));
         log.info("Cerveza eliminada con id: {}", id);
     }
-}
 
+    private Brewery breweryReference(Integer id) {
+        return reference(breweryRepository, Brewery.class, id, "Cervecería no encontrada con id: " + id);
+    }
+
+    private Style styleReference(Integer id) {
+        return reference(styleRepository, Style.class, id, "Estilo no encontrado con id: " + id);
+    }
+
+    private Category categoryReference(Integer id) {
+        return reference(categoryRepository, Category.class, id, "Categoría no encontrada con id: " + id);
+    }
+
+    // Proxy para la clave foránea en lugar de cargar la entidad: si no está en la caché de segundo nivel,
+    // basta comprobar que existe por clave primaria
+    private <T> T reference(JpaRepository<T, Integer> repository, Class<T> type, Integer id, String notFoundMessage) {
+        if (!entityManagerFactory.getCache().contains(type, id) && !repository.existsById(id)) {
+            throw new ResourceNotFoundException(notFoundMessage);
+        }
+        return repository.getReferenceById(id);
+    }
+
+    // Sin versión esperada (petición sin If-Match) no se comprueba nada
+    private static void checkVersion(Beer beer, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(beer.getVersion())) {
+            throw new PreconditionFailedException("La cerveza con id " + beer.getId()
+                    + " ha cambiado: versión actual " + beer.getVersion() + ", esperada " + expectedVersion);
+        }
+    }
+}
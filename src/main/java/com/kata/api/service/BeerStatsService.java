@@ -0,0 +1,66 @@
+package com.kata.api.service;
+
+import com.kata.api.dto.BeerStatsDTO;
+import com.kata.api.readmodel.BeerFacts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Estadísticas de ABV e IBU por estilo y por categoría: se calculan una vez y BeerFactsIndex las mantiene con cada escritura
+@Slf4j
+@Service
+public class BeerStatsService implements BeerFactsListener {
+
+    private final Map<Integer, BeerGroupStats> styles = new ConcurrentHashMap<>();
+    private final Map<Integer, BeerGroupStats> categories = new ConcurrentHashMap<>();
+
+    public BeerStatsDTO getStyleStats(Integer styleId, String name) {
+        return styles.getOrDefault(styleId, new BeerGroupStats()).toDTO(styleId, name);
+    }
+
+    public BeerStatsDTO getCategoryStats(Integer categoryId, String name) {
+        return categories.getOrDefault(categoryId, new BeerGroupStats()).toDTO(categoryId, name);
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<BeerFacts> beers) {
+        styles.clear();
+        categories.clear();
+        beers.forEach(beer -> apply(beer, true));
+        log.info("Estadísticas de {} estilos y {} categorías calculadas", styles.size(), categories.size());
+    }
+
+    @Override
+    public synchronized void onBeerChanged(BeerFacts before, BeerFacts after) {
+        if (before != null) {
+            apply(before, false);
+        }
+        if (after != null) {
+            apply(after, true);
+        }
+    }
+
+    private void apply(BeerFacts beer, boolean add) {
+        apply(beer, BeerFacts::getStyleId, styles, add);
+        apply(beer, BeerFacts::getCategoryId, categories, add);
+    }
+
+    private void apply(BeerFacts beer, Function<BeerFacts, Integer> groupId,
+                              Map<Integer, BeerGroupStats> groups, boolean add) {
+        Integer id = groupId.apply(beer);
+        if (id == null) {
+            return;
+        }
+        BeerGroupStats stats = groups.computeIfAbsent(id, key -> new BeerGroupStats());
+        if (add) {
+            stats.add(beer);
+        } else if (!stats.remove(beer)) {
+            // Se ejecuta tras el commit: un fallo aquí no puede deshacer la escritura, solo se registra
+            log.warn("Estadísticas desajustadas al restar la cerveza {} del grupo {}", beer.getId(), id);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kata.api.service;
+
+import com.kata.api.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posición opaca en el listado de cervecerías, ordenado por nombre e id: nombre e id de la última devuelta
+@Getter
+@AllArgsConstructor
+public class BreweryCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final Integer lastId;
+    private final String lastName;
+
+    public String encode() {
+        // El nombre va al final porque puede contener el separador
+        String raw = lastId + SEPARATOR + lastName;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BreweryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 2);
+            return new BreweryCursor(Integer.valueOf(parts[0]), parts[1]);
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Cursor de paginación no válido: " + token);
+        }
+    }
+}
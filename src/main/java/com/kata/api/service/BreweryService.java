@@ -1,32 +1,110 @@
 package com.kata.api.service;
 
+import com.kata.api.config.CacheConfig;
+import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BeerFilter;
 import com.kata.api.dto.BreweryDTO;
+import com.kata.api.dto.BreweryStatsDTO;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.dto.SuggestionDTO;
 import com.kata.api.entity.Brewery;
+import com.kata.api.entity.Style;
+import com.kata.api.event.ReferenceDataChangedEvent;
+import com.kata.api.exception.BadRequestException;
 import com.kata.api.exception.ResourceNotFoundException;
 import com.kata.api.mapper.BreweryMapper;
+import com.kata.api.readmodel.BeerFacts;
 import com.kata.api.repository.BreweryRepository;
+import com.kata.api.repository.StyleRepository;
+import com.kata.api.search.BreweryLocationIndex;
+import com.kata.api.search.PrefixSuggester;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class BreweryService {
+public class BreweryService implements BeerFactsListener {
 
     private final BreweryRepository breweryRepository;
     private final BreweryMapper breweryMapper;
+    private final BeerService beerService;
+    private final StyleRepository styleRepository;
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Acumulados por cervecería; BeerFactsIndex los mantiene con cada escritura de cervezas
+    private final Map<Integer, BreweryStats> stats = new ConcurrentHashMap<>();
+
+    // Índice de país, ciudad y nombre con las cervecerías y sugerencias de la misma carga; null hasta que termina
+    // de construirse. Se sustituye entero, así que quien lo lee una vez no mezcla dos cargas
+    private volatile LocationSnapshot locations;
 
     @Transactional(readOnly = true)
-    public List<BreweryDTO> getAllBreweries() {
-        log.info("Obteniendo todas las cervecerías");
-        return breweryRepository.findAll()
-                .stream()
-                .map(breweryMapper::toDTO)
+    public CursorPageDTO<BreweryDTO> getBreweries(String country, String city, String namePrefix, String after, int size) {
+        log.info("Obteniendo página de cervecerías: country={}, city={}, namePrefix={}, after={}, size={}",
+                country, city, namePrefix, after, size);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        BreweryCursor cursor = after != null ? BreweryCursor.decode(after) : null;
+        String afterName = cursor != null ? cursor.getLastName() : null;
+        Integer afterId = cursor != null ? cursor.getLastId() : null;
+
+        // Se pide una fila de más para saber si existe página siguiente
+        List<BreweryDTO> breweries;
+        LocationSnapshot snapshot = locations;
+        if (snapshot != null) {
+            breweries = snapshot.index.find(country, city, namePrefix, afterName, afterId, size + 1).stream()
+                    .map(snapshot.breweries::get)
+                    .collect(Collectors.toList());
+        } else {
+            // Hasta que se construye el índice en memoria se consulta la base de datos (idx_breweries_*)
+            breweries = breweryRepository.findMatching(blankToNull(country), blankToNull(city), blankToNull(namePrefix),
+                            afterName, afterId, size + 1).stream()
+                    .map(breweryMapper::toDTO)
+                    .collect(Collectors.toList());
+        }
+        boolean hasNext = breweries.size() > size;
+        if (hasNext) {
+            breweries = breweries.subList(0, size);
+        }
+        BreweryDTO last = hasNext ? breweries.get(breweries.size() - 1) : null;
+
+        return CursorPageDTO.<BreweryDTO>builder()
+                .items(breweries)
+                .size(breweries.size())
+                .sort("name")
+                .nextCursor(last != null ? new BreweryCursor(last.getId(), last.getName()).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("El prefijo es requerido");
+        }
+        if (limit < 1 || limit > PrefixSuggester.MAX_SUGGESTIONS) {
+            throw new BadRequestException("limit debe estar entre 1 y " + PrefixSuggester.MAX_SUGGESTIONS);
+        }
+        LocationSnapshot snapshot = locations;
+        if (snapshot == null) {
+            return List.of();
+        }
+        return snapshot.suggester.suggest(prefix, limit).stream()
+                .map(suggestion -> new SuggestionDTO(suggestion.getId(), suggestion.getName()))
                 .collect(Collectors.toList());
     }
 
@@ -37,5 +115,109 @@ public class BreweryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Cervecería no encontrada con id: " + id));
         return breweryMapper.toDTO(brewery);
     }
-}
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BeerDTO> getBreweryBeers(Integer id, String sortKey, String after, int size) {
+        log.info("Obteniendo cervezas de la cervecería con id: {}", id);
+        checkExists(id);
+        return beerService.getBeersPage(sortKey, after, size, BeerFilter.builder().breweryId(id).build(), false);
+    }
+
+    @Transactional(readOnly = true)
+    public BreweryStatsDTO getBreweryStats(Integer id) {
+        log.info("Obteniendo estadísticas de la cervecería con id: {}", id);
+        checkExists(id);
+        Map<Integer, String> styleNames = styleRepository.findAll().stream()
+                .collect(Collectors.toMap(Style::getId, Style::getName));
+        return stats.getOrDefault(id, new BreweryStats()).toDTO(id, styleNames::get);
+    }
+
+    // Las cervecerías no se modifican desde la API: el índice se construye al arrancar y se reconstruye cuando
+    // se invalida su caché (DELETE /caches o una importación)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuildLocationIndex() {
+        long start = System.currentTimeMillis();
+        List<Brewery> breweries = breweryRepository.findAll();
+        Map<Integer, BreweryDTO> byId = new HashMap<>(breweries.size() * 2);
+        breweries.forEach(brewery -> byId.put(brewery.getId(), breweryMapper.toDTO(brewery)));
+        BreweryLocationIndex index = new BreweryLocationIndex(breweries.stream()
+                .map(brewery -> new BreweryLocationIndex.Location(brewery.getId(), brewery.getName(),
+                        brewery.getCountry(), brewery.getCity()))
+                .collect(Collectors.toList()));
+        PrefixSuggester names = new PrefixSuggester();
+        breweries.forEach(brewery -> names.put(brewery.getId(), brewery.getName()));
+        locations = new LocationSnapshot(index, byId, names);
+        log.info("Índice de ubicación construido con {} cervecerías en {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (event.affects(CacheConfig.BREWERIES)) {
+            rebuildLocationIndex();
+        }
+    }
+
+    @Override
+    public synchronized void rebuild(Collection<BeerFacts> beers) {
+        stats.clear();
+        beers.forEach(this::add);
+        log.info("Estadísticas de {} cervecerías calculadas", stats.size());
+    }
+
+    @Override
+    public synchronized void onBeerChanged(BeerFacts before, BeerFacts after) {
+        if (before != null && before.getBreweryId() != null) {
+            remove(before);
+        }
+        if (after != null) {
+            add(after);
+        }
+    }
+
+    private void add(BeerFacts beer) {
+        if (beer.getBreweryId() != null) {
+            stats.computeIfAbsent(beer.getBreweryId(), breweryId -> new BreweryStats()).add(beer);
+        }
+    }
+
+    // Se ejecuta tras el commit: si los acumulados no cuadran con la cerveza restada solo se registra, y la
+    // cervecería que se queda sin cervezas deja de tener entrada
+    private void remove(BeerFacts beer) {
+        if (!stats.containsKey(beer.getBreweryId())) {
+            log.warn("Estadísticas desajustadas al restar la cerveza {} de la cervecería {}", beer.getId(), beer.getBreweryId());
+            return;
+        }
+        stats.computeIfPresent(beer.getBreweryId(), (breweryId, brewery) -> {
+            if (!brewery.remove(beer)) {
+                log.warn("Estadísticas desajustadas al restar la cerveza {} de la cervecería {}", beer.getId(), breweryId);
+            }
+            return brewery.isEmpty() ? null : brewery;
+        });
+    }
+
+    private static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    private void checkExists(Integer id) {
+        if (breweryRepository.findById(id).isEmpty()) {
+            throw new ResourceNotFoundException("Cervecería no encontrada con id: " + id);
+        }
+    }
+
+    private static final class LocationSnapshot {
+
+        private final BreweryLocationIndex index;
+        private final Map<Integer, BreweryDTO> breweries;
+        private final PrefixSuggester suggester;
+
+        private LocationSnapshot(BreweryLocationIndex index, Map<Integer, BreweryDTO> breweries,
+                                 PrefixSuggester suggester) {
+            this.index = index;
+            this.breweries = breweries;
+            this.suggester = suggester;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.kata.api.service;
+
+import com.kata.api.dto.BreweryStatsDTO;
+import com.kata.api.dto.FacetCountDTO;
+import com.kata.api.readmodel.BeerFacts;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Acumulados de las cervezas de una cervecería: se suman y restan cervezas sueltas, sin volver a recorrerlas todas
+class BreweryStats {
+
+    private long beerCount;
+    private double abvSum;
+    private long abvCount;
+    private double ibuSum;
+    private long ibuCount;
+    private final Map<Integer, Long> styleCounts = new HashMap<>();
+
+    synchronized void add(BeerFacts beer) {
+        beerCount++;
+        if (beer.getAbv() != null) {
+            abvSum += beer.getAbv();
+            abvCount++;
+        }
+        if (beer.getIbu() != null) {
+            ibuSum += beer.getIbu();
+            ibuCount++;
+        }
+        if (beer.getStyleId() != null) {
+            styleCounts.merge(beer.getStyleId(), 1L, Long::sum);
+        }
+    }
+
+    // false si la cerveza no estaba contada; los recuentos no bajan de cero
+    synchronized boolean remove(BeerFacts beer) {
+        boolean consistent = beerCount > 0;
+        beerCount = Math.max(0, beerCount - 1);
+        if (beer.getAbv() != null) {
+            consistent &= abvCount > 0;
+            abvCount = Math.max(0, abvCount - 1);
+            abvSum = abvCount > 0 ? abvSum - beer.getAbv() : 0;
+        }
+        if (beer.getIbu() != null) {
+            consistent &= ibuCount > 0;
+            ibuCount = Math.max(0, ibuCount - 1);
+            ibuSum = ibuCount > 0 ? ibuSum - beer.getIbu() : 0;
+        }
+        if (beer.getStyleId() != null) {
+            consistent &= styleCounts.containsKey(beer.getStyleId());
+            styleCounts.computeIfPresent(beer.getStyleId(), (styleId, count) -> count > 1 ? count - 1 : null);
+        }
+        return consistent;
+    }
+
+    synchronized boolean isEmpty() {
+        return beerCount == 0;
+    }
+
+    synchronized BreweryStatsDTO toDTO(Integer breweryId, Function<Integer, String> styleNames) {
+        List<FacetCountDTO> styles = styleCounts.entrySet().stream()
+                .map(entry -> FacetCountDTO.builder()
+                        .id(entry.getKey())
+                        .name(styleNames.apply(entry.getKey()))
+                        .count(entry.getValue())
+                        .build())
+                .sorted(Comparator.comparing(FacetCountDTO::getCount).reversed().thenComparing(FacetCountDTO::getId))
+                .collect(Collectors.toList());
+        return BreweryStatsDTO.builder()
+                .breweryId(breweryId)
+                .beerCount(beerCount)
+                .averageAbv(abvCount > 0 ? abvSum / abvCount : null)
+                .averageIbu(ibuCount > 0 ? ibuSum / ibuCount : null)
+                .styles(styles)
+                .build();
+    }
+}
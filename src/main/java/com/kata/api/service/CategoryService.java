@@ -1,5 +1,6 @@
 package com.kata.api.service;
 
+import com.kata.api.dto.BeerStatsDTO;
 import com.kata.api.dto.CategoryDTO;
 import com.kata.api.entity.Category;
 import com.kata.api.exception.ResourceNotFoundException;
@@ -20,6 +21,7 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final BeerStatsService beerStatsService;
 
     @Transactional(readOnly = true)
     public List<CategoryDTO> getAllCategories() {
@@ -37,5 +39,12 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con id: " + id));
         return categoryMapper.toDTO(category);
     }
-}
 
+    @Transactional(readOnly = true)
+    public BeerStatsDTO getCategoryStats(Integer id) {
+        log.info("Obteniendo estadísticas de la categoría con id: {}", id);
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Categoría no encontrada con id: " + id));
+        return beerStatsService.getCategoryStats(id, category.getName());
+    }
+}
@@ -0,0 +1,34 @@
+package com.kata.api.service;
+
+import com.kata.api.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Posición opaca en el registro de cambios: instancia del registro (cambia al reiniciar) y último cambio recibido
+@Getter
+@AllArgsConstructor
+public class ChangeCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String epoch;
+    private final long sequence;
+
+    public String encode() {
+        String raw = epoch + SEPARATOR + sequence;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 2);
+            return new ChangeCursor(parts[0], Long.parseLong(parts[1]));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Cursor de cambios no válido: " + token);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kata.api.service;
+
+import com.kata.api.config.CacheConfig;
+import com.kata.api.dto.CacheStatsDTO;
+import com.kata.api.event.ReferenceDataChangedEvent;
+import com.kata.api.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager jCacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<CacheStatsDTO> getStats() {
+        return CacheConfig.REFERENCE_CACHES.stream()
+                .map(this::getStats)
+                .collect(Collectors.toList());
+    }
+
+    // Aciertos y fallos salen de las estadísticas de Hibernate; el tamaño, de la caché Caffeine que hay debajo
+    public CacheStatsDTO getStats(String name) {
+        checkExists(name);
+        Statistics statistics = sessionFactory().getStatistics();
+        CacheRegionStatistics stats = CacheConfig.QUERY_RESULTS.equals(name)
+                ? statistics.getQueryRegionStatistics(name)
+                : statistics.getDomainDataRegionStatistics(name);
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(jCacheManager.getCache(name).unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize())
+                .hitCount(stats.getHitCount())
+                .missCount(stats.getMissCount())
+                .hitRate(requests == 0 ? 1.0 : (double) stats.getHitCount() / requests)
+                .putCount(stats.getPutCount())
+                .build();
+    }
+
+    public void evict(String name) {
+        checkExists(name);
+        log.info("Invalidando caché: {}", name);
+        sessionFactory().getCache().evictRegion(name);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(name));
+    }
+
+    public void evictAll() {
+        log.info("Invalidando todas las cachés de datos de referencia");
+        sessionFactory().getCache().evictAllRegions();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(null));
+    }
+
+    private void checkExists(String name) {
+        if (!CacheConfig.REFERENCE_CACHES.contains(name)) {
+            throw new ResourceNotFoundException("Caché no encontrada: " + name);
+        }
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kata.api.service;
 
+import com.kata.api.dto.BeerStatsDTO;
 import com.kata.api.dto.StyleDTO;
 import com.kata.api.entity.Style;
 import com.kata.api.exception.ResourceNotFoundException;
@@ -20,6 +21,7 @@ public class StyleService {
 
     private final StyleRepository styleRepository;
     private final StyleMapper styleMapper;
+    private final BeerStatsService beerStatsService;
 
     @Transactional(readOnly = true)
     public List<StyleDTO> getAllStyles() {
@@ -37,5 +39,12 @@ public class StyleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Estilo no encontrado con id: " + id));
         return styleMapper.toDTO(style);
     }
-}
 
+    @Transactional(readOnly = true)
+    public BeerStatsDTO getStyleStats(Integer id) {
+        log.info("Obteniendo estadísticas del estilo con id: {}", id);
+        Style style = styleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Estilo no encontrado con id: " + id));
+        return beerStatsService.getStyleStats(id, style.getName());
+    }
+}
@@ -0,0 +1,11 @@
+package com.kata.api.service;
+
+import lombok.Value;
+
+// Resultado junto con la versión de la entidad de la que sale, para construir el ETag
+@Value
+public class Versioned<T> {
+
+    T body;
+    Long version;
+}
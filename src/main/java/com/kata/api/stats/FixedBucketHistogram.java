@@ -0,0 +1,96 @@
+package com.kata.api.stats;
+
+import java.util.Arrays;
+
+// Histograma de cubetas de ancho fijo que admite altas y bajas. Los cuantiles se interpolan dentro de la cubeta,
+// con un error máximo de un ancho de cubeta. El último cubo es abierto: recoge todo valor >= su límite inferior.
+// No es seguro para hilos: quien lo comparte sincroniza.
+public class FixedBucketHistogram {
+
+    private final double bucketWidth;
+    private final long[] counts;
+    private long count;
+    private double sum;
+
+    public FixedBucketHistogram(double bucketWidth, int bucketCount) {
+        if (bucketWidth <= 0 || bucketCount < 1) {
+            throw new IllegalArgumentException("El ancho y el número de cubetas deben ser positivos");
+        }
+        this.bucketWidth = bucketWidth;
+        this.counts = new long[bucketCount];
+    }
+
+    public void add(double value) {
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+    }
+
+    // false, sin cambiar nada, si la cubeta del valor ya está vacía: quien lo mantiene ha perdido la cuenta
+    public boolean remove(double value) {
+        int bucket = bucketOf(value);
+        if (counts[bucket] == 0) {
+            return false;
+        }
+        counts[bucket]--;
+        count--;
+        sum -= value;
+        return true;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public Double getMean() {
+        return count > 0 ? sum / count : null;
+    }
+
+    // Valor por debajo del cual queda la fracción q de las observaciones (0 <= q <= 1)
+    public Double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("El cuantil debe estar entre 0 y 1");
+        }
+        if (count == 0) {
+            return null;
+        }
+        double rank = q * count;
+        long cumulative = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            if (cumulative + counts[bucket] >= rank) {
+                if (bucket == counts.length - 1) {
+                    return getLowerBound(bucket);
+                }
+                return getLowerBound(bucket) + bucketWidth * (rank - cumulative) / counts[bucket];
+            }
+            cumulative += counts[bucket];
+        }
+        return getLowerBound(counts.length - 1);
+    }
+
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    public double getLowerBound(int bucket) {
+        return bucket * bucketWidth;
+    }
+
+    // null en el último cubo, que no tiene límite superior
+    public Double getUpperBound(int bucket) {
+        return bucket < counts.length - 1 ? (bucket + 1) * bucketWidth : null;
+    }
+
+    public long[] getCounts() {
+        return Arrays.copyOf(counts, counts.length);
+    }
+
+    // Los negativos caen en el primer cubo y los que superan el rango en el último
+    private int bucketOf(double value) {
+        int bucket = (int) Math.floor(value / bucketWidth);
+        return Math.max(0, Math.min(bucket, counts.length - 1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.kata.api.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void testLimit_GrowsWhileLatencyIsStableUnderLoad() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 50, true);
+
+        // Act
+        runAtLimit(limiter, FAST, 200);
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void testLimit_ShrinksWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(40, 2, 50, true);
+        runAtLimit(limiter, FAST, 50);
+        int before = limiter.getLimit();
+
+        // Act
+        runAtLimit(limiter, SLOW, 5);
+
+        // Assert
+        assertThat(limiter.getLimit()).isLessThan(before / 2).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void testLimit_IgnoresLatencyWhenLightlyLoaded() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 50, true);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(i < 50 ? FAST : SLOW, false);
+        }
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void testTryAcquire_RejectsAtLimitAndFailuresBackOff() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, true);
+
+        // Act & Assert
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(FAST, true);
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void testTokenBucket_RefillsAtConfiguredRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        // Act & Assert
+        assertThat(bucket.tryAcquire(3, 0)).isZero();
+        assertThat(bucket.tryAcquire(3, 0)).isEqualTo(second);
+        assertThat(bucket.tryAcquire(3, second)).isZero();
+        assertThat(bucket.getTokens(10 * second)).isEqualTo(4);
+    }
+
+    // Mantiene el limitador lleno: cada ronda ocupa todos los huecos y los libera con la latencia indicada
+    private static void runAtLimit(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.kata.api.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kata.api.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setList(new AdmissionProperties.Pool(1, 1, 1, 5, false));
+        properties.setExport(new AdmissionProperties.Pool(1, 1, 1, 20, false));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testRateLimit_RejectsWith429WhenClientBucketIsEmpty() throws Exception {
+        // Arrange
+        properties.setRatePerSecond(1);
+        properties.setBurst(20);
+        AdmissionControlFilter filter = filter();
+
+        // Act
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            statuses.add(execute(filter, get("/beers", "10.0.0.1"), (request, response) -> { }).getStatus());
+        }
+        MockHttpServletResponse rejected = execute(filter, get("/beers", "10.0.0.1"), (request, response) -> { });
+        MockHttpServletResponse otherClient = execute(filter, get("/beers", "10.0.0.2"), (request, response) -> { });
+
+        // Assert
+        assertThat(statuses).containsExactly(200, 200, 200, 200, 429);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429").contains("\"path\":\"/api/beers\"");
+        assertThat(otherClient.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("admission.rejected", "reason", "rate_limit", "route", "list").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testRateLimit_ClientIdDoesNotBypassAddressBucket() throws Exception {
+        // Arrange
+        properties.setRatePerSecond(1);
+        properties.setBurst(20);
+        AdmissionControlFilter filter = filter();
+
+        // Act: un X-Client-Id distinto en cada petición desde la misma dirección
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            statuses.add(execute(filter, get("/beers", "10.0.0.1", "client-" + i), (request, response) -> { }).getStatus());
+        }
+
+        // Assert
+        assertThat(statuses).containsExactly(200, 200, 200, 200, 429);
+    }
+
+    @Test
+    void testConcurrencyLimit_SaturatedListsDoNotBlockLookups() throws Exception {
+        // Arrange
+        AdmissionControlFilter filter = filter();
+        List<MockHttpServletResponse> whileListRuns = new ArrayList<>();
+
+        // Act: mientras un listado ocupa el único hueco llegan otro listado y una consulta por id
+        MockHttpServletResponse first = execute(filter, get("/beers", "10.0.0.1"), (request, response) -> {
+            whileListRuns.add(execute(filter, get("/breweries/7/beers", "10.0.0.2"), (r, s) -> { }));
+            whileListRuns.add(execute(filter, get("/beers/42", "10.0.0.2"), (r, s) -> { }));
+        });
+        MockHttpServletResponse afterwards = execute(filter, get("/beers", "10.0.0.2"), (request, response) -> { });
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(whileListRuns).extracting(MockHttpServletResponse::getStatus).containsExactly(503, 200);
+        assertThat(whileListRuns.get(0).getHeader("Retry-After")).isEqualTo("1");
+        assertThat(afterwards.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void testConcurrencyLimit_AsyncResponseHoldsSlotUntilComplete() throws Exception {
+        // Arrange
+        AdmissionControlFilter filter = filter();
+        MockHttpServletRequest export = get("/beers/export", "10.0.0.1");
+        export.setAsyncSupported(true);
+
+        // Act
+        execute(filter, export, (request, response) -> request.startAsync());
+        int whileStreaming = execute(filter, get("/beers/export", "10.0.0.2"), (r, s) -> { }).getStatus();
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        int afterComplete = execute(filter, get("/beers/export", "10.0.0.2"), (r, s) -> { }).getStatus();
+
+        // Assert
+        assertThat(whileStreaming).isEqualTo(503);
+        assertThat(afterComplete).isEqualTo(200);
+    }
+
+    @Test
+    void testExemptRoutes_AreNeverRejected() throws Exception {
+        // Arrange
+        properties.setRatePerSecond(1);
+        properties.setBurst(20);
+        AdmissionControlFilter filter = filter();
+
+        // Act
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            statuses.add(execute(filter, get("/actuator/health", "10.0.0.1"), (r, s) -> { }).getStatus());
+        }
+
+        // Assert
+        assertThat(statuses).containsOnly(200);
+    }
+
+    @Test
+    void testRouteClass_ClassifiesApiRoutes() {
+        // Act & Assert
+        assertThat(RouteClass.of("GET", "/beers")).isEqualTo(RouteClass.LIST);
+        assertThat(RouteClass.of("GET", "/beers/search")).isEqualTo(RouteClass.LIST);
+        assertThat(RouteClass.of("GET", "/breweries/3/beers")).isEqualTo(RouteClass.LIST);
+        assertThat(RouteClass.of("GET", "/styles/3/stats")).isEqualTo(RouteClass.LIST);
+        assertThat(RouteClass.of("GET", "/beers/42")).isEqualTo(RouteClass.LOOKUP);
+        assertThat(RouteClass.of("GET", "/beers/top")).isEqualTo(RouteClass.LOOKUP);
+        assertThat(RouteClass.of("GET", "/breweries/suggest")).isEqualTo(RouteClass.LOOKUP);
+        assertThat(RouteClass.of("PATCH", "/beers/batch")).isEqualTo(RouteClass.WRITE);
+        assertThat(RouteClass.of("GET", "/beers/export")).isEqualTo(RouteClass.EXPORT);
+        assertThat(RouteClass.of("GET", "/beers/changes/stream")).isEqualTo(RouteClass.STREAM);
+        assertThat(RouteClass.of("GET", "/actuator/prometheus")).isNull();
+        assertThat(RouteClass.of("OPTIONS", "/beers")).isNull();
+    }
+
+    private AdmissionControlFilter filter() {
+        return new AdmissionControlFilter(properties, new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry);
+    }
+
+    private static MockHttpServletRequest get(String path, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static MockHttpServletRequest get(String path, String remoteAddr, String clientId) {
+        MockHttpServletRequest request = get(path, remoteAddr);
+        request.addHeader(ClientKeys.CLIENT_ID_HEADER, clientId);
+        return request;
+    }
+
+    private static MockHttpServletResponse execute(AdmissionControlFilter filter, MockHttpServletRequest request,
+                                                   FilterChain chain) throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,48 @@
+package com.kata.api.changes;
+
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.repository.projection.BeerSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeerChangeTest {
+
+    @Test
+    void testOf_KeepsOnlyChangedFields() {
+        // Act
+        BeerChange created = BeerChange.of(BeerChangedEvent.created(beer(5.0, 20.0)));
+        BeerChange updated = BeerChange.of(BeerChangedEvent.updated(beer(5.0, 20.0), beer(6.0, 20.0)));
+        BeerChange deleted = BeerChange.of(BeerChangedEvent.deleted(1));
+
+        // Assert
+        assertThat(created.getFields()).containsOnlyKeys("name", "description", "abv", "ibu", "breweryId");
+        assertThat(updated.getFields()).containsExactly(entry("abv", 6.0));
+        assertThat(deleted.getFields()).isEmpty();
+    }
+
+    @Test
+    void testMerge_CombinesFieldsOfReplacedChange() {
+        // Arrange
+        BeerChange created = BeerChange.of(BeerChangedEvent.created(beer(5.0, 20.0)));
+        BeerChange abv = BeerChange.of(BeerChangedEvent.updated(beer(5.0, 20.0), beer(6.0, 20.0)));
+        BeerChange ibu = BeerChange.of(BeerChangedEvent.updated(beer(6.0, 20.0), beer(6.0, 30.0)));
+        BeerChange deleted = BeerChange.of(BeerChangedEvent.deleted(1));
+
+        // Act
+        BeerChange createdThenUpdated = BeerChange.merge(created, abv);
+        BeerChange updatedTwice = BeerChange.merge(abv, ibu);
+        BeerChange updatedThenDeleted = BeerChange.merge(updatedTwice, deleted);
+
+        // Assert
+        assertThat(createdThenUpdated.getType()).isEqualTo(BeerChangedEvent.Type.UPDATED);
+        assertThat(createdThenUpdated.getFields()).containsEntry("abv", 6.0).containsEntry("name", "Cerveza");
+        assertThat(updatedTwice.getType()).isEqualTo(BeerChangedEvent.Type.UPDATED);
+        assertThat(updatedTwice.getFields()).containsExactly(entry("abv", 6.0), entry("ibu", 30.0));
+        assertThat(updatedThenDeleted).isEqualTo(deleted);
+    }
+
+    private static BeerSnapshot beer(double abv, double ibu) {
+        return new BeerSnapshot(1, "Cerveza", "Rubia", abv, ibu, 1, null, null);
+    }
+}
@@ -0,0 +1,104 @@
+package com.kata.api.changes;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChangeLogTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    void testSince_ReturnsLaterChangesInOrder() {
+        // Arrange
+        ChangeLog<String> log = new ChangeLog<>(100, Duration.ofHours(1), false, clock);
+        long first = log.append(1, "alta 1");
+        log.append(2, "alta 2");
+        log.append(1, "cambio 1");
+
+        // Act & Assert
+        assertThat(log.since(0, 10)).extracting(ChangeLog.Entry::getChange).containsExactly("alta 1", "alta 2", "cambio 1");
+        assertThat(log.since(first, 1)).extracting(ChangeLog.Entry::getChange).containsExactly("alta 2");
+        assertThat(log.since(log.lastSequence(), 10)).isEmpty();
+        assertThat(log.since(log.lastSequence() + 1, 10)).isNull();
+    }
+
+    @Test
+    void testCompaction_KeepsOnlyLatestChangePerKey() {
+        // Arrange
+        ChangeLog<String> log = new ChangeLog<>(100, Duration.ofHours(1), true, clock);
+        log.append(1, "alta 1");
+        long second = log.append(2, "alta 2");
+        log.append(1, "cambio 1");
+
+        // Act & Assert
+        assertThat(log.size()).isEqualTo(2);
+        assertThat(log.since(0, 10)).extracting(ChangeLog.Entry::getChange).containsExactly("alta 2", "cambio 1");
+        assertThat(log.since(second, 10)).extracting(ChangeLog.Entry::getChange).containsExactly("cambio 1");
+    }
+
+    @Test
+    void testCompaction_MergesReplacedChangeIntoLatest() {
+        // Arrange
+        ChangeLog<String> log = new ChangeLog<>(100, Duration.ofHours(1), true, (older, newer) -> older + "+" + newer, clock);
+        log.append(1, "alta 1");
+        log.append(2, "alta 2");
+        log.append(1, "cambio 1");
+
+        // Act
+        log.append(1, "otro cambio 1");
+
+        // Assert
+        assertThat(log.since(0, 10)).extracting(ChangeLog.Entry::getChange)
+                .containsExactly("alta 2", "alta 1+cambio 1+otro cambio 1");
+    }
+
+    @Test
+    void testRetention_ExpiresCursorsOlderThanDiscardedChanges() {
+        // Arrange
+        ChangeLog<String> log = new ChangeLog<>(2, Duration.ofMinutes(10), false, clock);
+        long first = log.append(1, "a");
+        long second = log.append(2, "b");
+        log.append(3, "c");
+
+        // Act & Assert: el primero se descarta por número de entradas
+        assertThat(log.since(0, 10)).isNull();
+        assertThat(log.since(first, 10)).extracting(ChangeLog.Entry::getChange).containsExactly("b", "c");
+
+        // Y los demás por antigüedad
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(log.since(second, 10)).isNull();
+        assertThat(log.since(log.lastSequence(), 10)).isEmpty();
+        assertThat(log.size()).isZero();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.kata.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.dto.CursorPageDTO;
 import com.kata.api.service.BeerService;
+import com.kata.api.service.Versioned;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -55,23 +58,44 @@ class BeerControllerTest {
     void testGetAllBeers() throws Exception {
         // Arrange
         List<BeerDTO> beers = Arrays.asList(testBeerDTO);
-        when(beerService.getAllBeers()).thenReturn(beers);
+        CursorPageDTO<BeerDTO> page = CursorPageDTO.<BeerDTO>builder()
+                .items(beers)
+                .size(1)
+                .sort("id")
+                .hasNext(false)
+                .build();
+        when(beerService.getBeersPage(eq("id"), isNull(), eq(BeerService.DEFAULT_PAGE_SIZE), any(BeerFilter.class), eq(false))).thenReturn(page);
 
         // Act & Assert
         mockMvc.perform(get("/api/beers")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is(1)))
-                .andExpect(jsonPath("$[0].name", is("Pilsen")));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", is(1)))
+                .andExpect(jsonPath("$.items[0].name", is("Pilsen")))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+
+        verify(beerService, times(1)).getBeersPage(eq("id"), isNull(), eq(BeerService.DEFAULT_PAGE_SIZE), any(BeerFilter.class), eq(false));
+    }
+
+    @Test
+    void testGetBeerById_NotModified() throws Exception {
+        // Arrange
+        when(beerService.getBeerVersion(1)).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/beers/1")
+                .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
 
-        verify(beerService, times(1)).getAllBeers();
+        verify(beerService, never()).getVersionedBeerById(anyInt());
     }
 
     @Test
     void testGetBeerById() throws Exception {
         // Arrange
-        when(beerService.getBeerById(1)).thenReturn(testBeerDTO);
+        when(beerService.getVersionedBeerById(1)).thenReturn(new Versioned<>(testBeerDTO, 3L));
 
         // Act & Assert
         mockMvc.perform(get("/api/beers/1")
@@ -79,9 +103,10 @@ class BeerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.name", is("Pilsen")))
-                .andExpect(jsonPath("$.abv", is(5.0)));
+                .andExpect(jsonPath("$.abv", is(5.0)))
+                .andExpect(header().string("ETag", "\"3\""));
 
-        verify(beerService, times(1)).getBeerById(1);
+        verify(beerService, times(1)).getVersionedBeerById(1);
     }
 
     @Test
@@ -131,7 +156,7 @@ class BeerControllerTest {
                 .categoryId(1)
                 .build();
 
-        when(beerService.updateBeer(anyInt(), any(BeerDTO.class))).thenReturn(updatedBeer);
+        when(beerService.updateBeer(anyInt(), any(BeerDTO.class), isNull())).thenReturn(new Versioned<>(updatedBeer, 1L));
 
         // Act & Assert
         mockMvc.perform(put("/api/beers/1")
@@ -141,7 +166,7 @@ class BeerControllerTest {
                 .andExpect(jsonPath("$.name", is("Pilsen Premium")))
                 .andExpect(jsonPath("$.abv", is(5.2)));
 
-        verify(beerService, times(1)).updateBeer(anyInt(), any(BeerDTO.class));
+        verify(beerService, times(1)).updateBeer(anyInt(), any(BeerDTO.class), isNull());
     }
 
     @Test
@@ -158,7 +183,7 @@ class BeerControllerTest {
                 .ibu(25.0)
                 .build();
 
-        when(beerService.partialUpdateBeer(anyInt(), any(BeerDTO.class))).thenReturn(resultBeer);
+        when(beerService.partialUpdateBeer(anyInt(), any(BeerDTO.class), isNull())).thenReturn(new Versioned<>(resultBeer, 1L));
 
         // Act & Assert
         mockMvc.perform(patch("/api/beers/1")
@@ -167,20 +192,20 @@ class BeerControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.abv", is(5.3)));
 
-        verify(beerService, times(1)).partialUpdateBeer(anyInt(), any(BeerDTO.class));
+        verify(beerService, times(1)).partialUpdateBeer(anyInt(), any(BeerDTO.class), isNull());
     }
 
     @Test
     void testDeleteBeer() throws Exception {
         // Arrange
-        doNothing().when(beerService).deleteBeer(anyInt());
+        doNothing().when(beerService).deleteBeer(anyInt(), isNull());
 
         // Act & Assert
         mockMvc.perform(delete("/api/beers/1")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNoContent());
 
-        verify(beerService, times(1)).deleteBeer(1);
+        verify(beerService, times(1)).deleteBeer(eq(1), isNull());
     }
 }
 
@@ -0,0 +1,133 @@
+package com.kata.api.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+// Primario y réplica son dos bases H2 en memoria; cada una dice su nombre en la tabla node
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private FlakyDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        replica = new FlakyDataSource(database("replica"));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica);
+        routing = new ReplicaRoutingDataSource(primary, replicas);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+        routing.close();
+    }
+
+    @Test
+    void testRouting_ReadOnlyToReplicaAndWritesToPrimary() {
+        // Act & Assert
+        assertThat(node(readOnly)).isEqualTo("replica");
+        assertThat(node(readWrite)).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void testRouting_PrimaryRequiredReadsFromPrimary() {
+        // Arrange
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+
+        // Act & Assert
+        assertThat(node(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void testRouting_FallsBackToPrimaryUntilReplicaRecovers() {
+        // Arrange
+        replica.down = true;
+
+        // Act & Assert
+        assertThat(node(readOnly)).isEqualTo("primary");
+        assertThat(routing.getHealthyReplicas()).isEmpty();
+
+        replica.down = false;
+        assertThat(node(readOnly)).isEqualTo("primary");
+
+        routing.checkReplicas();
+        assertThat(routing.getHealthyReplicas()).containsExactly("replica-0");
+        assertThat(node(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void testCheckReplicas_MarksUnreachableReplicaDown() {
+        // Arrange
+        replica.down = true;
+
+        // Act
+        routing.checkReplicas();
+
+        // Assert
+        assertThat(routing.getHealthyReplicas()).isEmpty();
+        assertThat(node(readOnly)).isEqualTo("primary");
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static class FlakyDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
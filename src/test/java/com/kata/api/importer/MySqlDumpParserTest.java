@@ -0,0 +1,65 @@
+package com.kata.api.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MySqlDumpParserTest {
+
+    private static final String DUMP = """
+            -- MySQL dump 10.11
+            DROP TABLE IF EXISTS `beers`;
+            CREATE TABLE `beers` (
+              `id` int(21) NOT NULL auto_increment
+            ) ENGINE=MyISAM;
+            LOCK TABLES `beers` WRITE;
+            INSERT INTO `beers` VALUES (1,812,'Hocus Pocus',4.5,'Light, crisp\\r\\nale'),(2,-1,'Brewer\\'s ''Best''',NULL,'');
+            INSERT INTO `styles` VALUES (1,1,'Classic English-Style Pale Ale');
+            INSERT INTO `beers` VALUES (3,5,'Grimbergen (Dubbel)',6.5,'a,b');
+            UNLOCK TABLES;
+            """;
+
+    @Test
+    void testParse_ReadsEveryTupleOfTheTable() throws IOException {
+        // Arrange
+        List<List<String>> rows = new ArrayList<>();
+
+        // Act
+        long count = new MySqlDumpParser(new StringReader(DUMP)).parse("beers", rows::add);
+
+        // Assert
+        assertThat(count).isEqualTo(3);
+        assertThat(rows.get(0)).containsExactly("1", "812", "Hocus Pocus", "4.5", "Light, crisp\r\nale");
+        assertThat(rows.get(1)).containsExactly("2", "-1", "Brewer's 'Best'", null, "");
+        assertThat(rows.get(2)).containsExactly("3", "5", "Grimbergen (Dubbel)", "6.5", "a,b");
+    }
+
+    @Test
+    void testParse_IgnoresOtherTables() throws IOException {
+        // Arrange
+        List<List<String>> rows = new ArrayList<>();
+
+        // Act
+        long count = new MySqlDumpParser(new StringReader(DUMP)).parse("styles", rows::add);
+
+        // Assert
+        assertThat(count).isEqualTo(1);
+        assertThat(rows.get(0)).isEqualTo(Arrays.asList("1", "1", "Classic English-Style Pale Ale"));
+    }
+
+    @Test
+    void testParse_UnterminatedString() {
+        // Arrange
+        String dump = "INSERT INTO `beers` VALUES (1,'sin cerrar);\n";
+
+        // Act & Assert
+        assertThatThrownBy(() -> new MySqlDumpParser(new StringReader(dump)).parse("beers", row -> { }))
+                .isInstanceOf(IOException.class);
+    }
+}
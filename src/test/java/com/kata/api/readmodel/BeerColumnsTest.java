@@ -0,0 +1,163 @@
+package com.kata.api.readmodel;
+
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.repository.BeerSortField;
+import com.kata.api.repository.projection.BeerSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeerColumnsTest {
+
+    private BeerColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = BeerColumns.of(List.of(
+                beer(5, 6.5, 70.0, 1, 1, 1),
+                beer(1, 5.0, 25.0, 1, 2, 1),
+                beer(3, null, 40.0, 2, 2, null),
+                beer(2, 5.0, null, 2, 1, 2),
+                beer(4, 4.2, 12.0, 3, null, 2)));
+    }
+
+    @Test
+    void testFind_SortsWithNullsFirstAndIdAsTieBreaker() {
+        // Act & Assert
+        assertThat(columns.find(new BeerFilter(), BeerSortField.ID, null, null, 10)).containsExactly(1, 2, 3, 4, 5);
+        assertThat(columns.find(new BeerFilter(), BeerSortField.ABV, null, null, 10)).containsExactly(3, 4, 1, 2, 5);
+        assertThat(columns.find(new BeerFilter(), BeerSortField.IBU, null, null, 3)).containsExactly(2, 4, 1);
+    }
+
+    @Test
+    void testFind_ContinuesStrictlyAfterCursor() {
+        // Act & Assert
+        assertThat(columns.find(new BeerFilter(), BeerSortField.ABV, 5.0, 1, 10)).containsExactly(2, 5);
+        assertThat(columns.find(new BeerFilter(), BeerSortField.ABV, null, 3, 10)).containsExactly(4, 1, 2, 5);
+        assertThat(columns.find(new BeerFilter(), BeerSortField.ID, null, 3, 10)).containsExactly(4, 5);
+    }
+
+    @Test
+    void testFind_RangesExcludeMissingValues() {
+        // Arrange
+        BeerFilter filter = BeerFilter.builder().abvMin(4.5).ibuMax(50.0).build();
+
+        // Act & Assert
+        assertThat(columns.find(filter, BeerSortField.IBU, null, null, 10)).containsExactly(1);
+        assertThat(columns.find(BeerFilter.builder().breweryId(2).build(), BeerSortField.ID, null, null, 10))
+                .containsExactly(2, 3);
+    }
+
+    @Test
+    void testTop_HighestFirstWithTiesByIdAndWithoutMissingValues() {
+        // Act & Assert
+        assertThat(columns.top(BeerSortField.ABV, null, null, 10)).containsExactly(5, 1, 2, 4);
+        assertThat(columns.top(BeerSortField.ABV, null, null, 2)).containsExactly(5, 1);
+        assertThat(columns.top(BeerSortField.IBU, null, null, 10)).containsExactly(5, 3, 1, 4);
+    }
+
+    @Test
+    void testTop_WithinStyleOrCategory() {
+        // Act & Assert
+        assertThat(columns.top(BeerSortField.ABV, 1, null, 10)).containsExactly(5, 2);
+        assertThat(columns.top(BeerSortField.IBU, null, 2, 10)).containsExactly(4);
+        assertThat(columns.top(BeerSortField.ABV, 2, 1, 10)).containsExactly(1);
+        assertThat(columns.top(BeerSortField.ABV, 99, null, 10)).isEmpty();
+    }
+
+    @Test
+    void testTop_LargeTieRunReadsFirstRowsInIdOrder() {
+        // Arrange: miles de cervezas con el mismo ABV, además de una por encima y otra sin valor
+        List<BeerSnapshot> beers = new ArrayList<>();
+        for (int id = 1; id <= 10_000; id++) {
+            beers.add(beer(id, 5.0, null, 1, 1, 1));
+        }
+        beers.add(beer(20_000, 6.0, null, 1, 1, 1));
+        beers.add(beer(20_001, null, null, 1, 1, 1));
+        BeerColumns tied = BeerColumns.of(beers);
+
+        // Act & Assert
+        assertThat(tied.top(BeerSortField.ABV, null, null, 3)).containsExactly(20_000, 1, 2);
+        assertThat(tied.top(BeerSortField.ABV, 1, null, 3)).containsExactly(20_000, 1, 2);
+        assertThat(tied.with(beer(0, 5.0, null, 1, 1, 1)).top(BeerSortField.ABV, null, 1, 3)).containsExactly(20_000, 0, 1);
+        assertThat(tied.top(BeerSortField.IBU, null, null, 3)).isEmpty();
+    }
+
+    @Test
+    void testCountBy_SkipsBeersWithoutGroup() {
+        // Act & Assert
+        assertThat(columns.countByStyle(new BeerFilter())).containsOnly(entry(1, 2L), entry(2, 2L));
+        assertThat(columns.countByCategory(BeerFilter.builder().abvMin(5.0).build())).containsOnly(entry(1, 2L), entry(2, 1L));
+    }
+
+    @Test
+    void testWithAndWithout_PublishNewCopies() {
+        // Act
+        BeerColumns updated = columns.with(beer(3, 7.0, 40.0, 2, 2, null)).with(beer(6, 1.0, 5.0, 1, 1, 1));
+        BeerColumns removed = updated.without(5);
+
+        // Assert
+        assertThat(columns.find(new BeerFilter(), BeerSortField.ABV, null, null, 10)).containsExactly(3, 4, 1, 2, 5);
+        assertThat(updated.find(new BeerFilter(), BeerSortField.ABV, null, null, 10)).containsExactly(6, 4, 1, 2, 5, 3);
+        assertThat(removed.find(new BeerFilter(), BeerSortField.ABV, null, null, 10)).containsExactly(6, 4, 1, 2, 3);
+        assertThat(removed.without(99)).isSameAs(removed);
+        assertThat(removed.top(BeerSortField.ABV, 2, null, 10)).containsExactly(3, 1);
+    }
+
+    @Test
+    void testApply_MatchesFullRebuild() {
+        // Arrange: 200 cervezas con valores repetidos y nulos; se cambian, añaden y borran 40 de golpe
+        Random random = new Random(42);
+        Map<Integer, BeerSnapshot> beers = new TreeMap<>();
+        for (int id = 1; id <= 200; id++) {
+            beers.put(id, randomBeer(random, id));
+        }
+        BeerColumns initial = BeerColumns.of(beers.values());
+        List<BeerSnapshot> upserts = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int id = 5 * i + 1 + (i % 3 == 0 ? 300 : 0);
+            if (i % 4 == 1) {
+                deletes.add(id);
+                beers.remove(id);
+            } else {
+                BeerSnapshot beer = randomBeer(random, id);
+                upserts.add(beer);
+                beers.put(id, beer);
+            }
+        }
+
+        // Act
+        BeerColumns applied = initial.apply(upserts, deletes);
+        BeerColumns rebuilt = BeerColumns.of(beers.values());
+
+        // Assert
+        assertThat(applied.size()).isEqualTo(rebuilt.size());
+        for (BeerSortField sort : List.of(BeerSortField.ID, BeerSortField.ABV, BeerSortField.IBU)) {
+            assertThat(applied.find(new BeerFilter(), sort, null, null, 500))
+                    .containsExactly(rebuilt.find(new BeerFilter(), sort, null, null, 500));
+        }
+        for (int group = 1; group <= 5; group++) {
+            assertThat(applied.top(BeerSortField.ABV, group, null, 500)).containsExactly(rebuilt.top(BeerSortField.ABV, group, null, 500));
+            assertThat(applied.top(BeerSortField.IBU, null, group, 500)).containsExactly(rebuilt.top(BeerSortField.IBU, null, group, 500));
+        }
+        assertThat(initial.apply(List.of(), List.of(999))).isSameAs(initial);
+    }
+
+    private static BeerSnapshot randomBeer(Random random, int id) {
+        Double abv = random.nextInt(5) == 0 ? null : random.nextInt(20) / 2.0;
+        Double ibu = random.nextInt(5) == 0 ? null : (double) random.nextInt(10) * 10;
+        return beer(id, abv, ibu, 1 + random.nextInt(5), 1 + random.nextInt(5), 1 + random.nextInt(5));
+    }
+
+    private static BeerSnapshot beer(int id, Double abv, Double ibu, Integer breweryId, Integer styleId, Integer categoryId) {
+        return new BeerSnapshot(id, "Cerveza " + id, null, abv, ibu, breweryId, styleId, categoryId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.kata.api.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BreweryLocationIndexTest {
+
+    private BreweryLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BreweryLocationIndex(List.of(
+                new BreweryLocationIndex.Location(1, "Stone Brewing", "United States", "Escondido"),
+                new BreweryLocationIndex.Location(2, "Anchor Brewing", "United States", "San Francisco"),
+                new BreweryLocationIndex.Location(3, "Mahou", "Spain", "Madrid"),
+                new BreweryLocationIndex.Location(4, "Águila", "Spain", "Madrid"),
+                new BreweryLocationIndex.Location(5, "Anchor Brewing", "United States", "San Francisco"),
+                new BreweryLocationIndex.Location(6, "Estrella Damm", "Spain", "Barcelona")));
+    }
+
+    @Test
+    void testFind_OrdersByNameAndId() {
+        // Act & Assert
+        assertThat(index.find(null, null, null, null, null, 10)).containsExactly(4, 2, 5, 6, 3, 1);
+    }
+
+    @Test
+    void testFind_FiltersIgnoringCaseAndAccents() {
+        // Act & Assert
+        assertThat(index.find("spain", "MADRID", null, null, null, 10)).containsExactly(4, 3);
+        assertThat(index.find("Spain", null, "agu", null, null, 10)).containsExactly(4);
+        assertThat(index.find(null, null, "anchor", null, null, 10)).containsExactly(2, 5);
+        assertThat(index.find("France", null, null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void testFind_ContinuesAfterCursor() {
+        // Act
+        List<Integer> first = index.find("United States", null, null, null, null, 2);
+        List<Integer> second = index.find("United States", null, null, "Anchor Brewing", 5, 2);
+
+        // Assert
+        assertThat(first).containsExactly(2, 5);
+        assertThat(second).containsExactly(1);
+        assertThat(index.find(null, null, "anchor", "Anchor Brewing", 2, 10)).containsExactly(5);
+    }
+}
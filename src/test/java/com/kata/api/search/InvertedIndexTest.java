@@ -0,0 +1,60 @@
+package com.kata.api.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, Map.of("hocus", 3.0f, "pocus", 3.0f, "summer", 1.0f, "ale", 1.0f));
+        index.put(2, Map.of("summer", 3.0f, "ale", 2.0f));
+        index.put(3, Map.of("imperial", 3.0f, "stout", 3.0f));
+    }
+
+    @Test
+    void testSearch_RequiresAllTermsAndRanksByWeight() {
+        // Act
+        List<InvertedIndex.ScoredDocument> results = index.search(List.of("summer", "ale"));
+
+        // Assert
+        assertThat(results).extracting(InvertedIndex.ScoredDocument::getDocId).containsExactly(2, 1);
+        assertThat(index.search(List.of("summer", "stout"))).isEmpty();
+    }
+
+    @Test
+    void testPut_ReplacesPreviousTerms() {
+        // Act
+        index.put(3, Map.of("porter", 3.0f));
+
+        // Assert
+        assertThat(index.search(List.of("stout"))).isEmpty();
+        assertThat(index.search(List.of("porter"))).extracting(InvertedIndex.ScoredDocument::getDocId).containsExactly(3);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemove() {
+        // Act
+        index.remove(1);
+
+        // Assert
+        assertThat(index.search(List.of("hocus"))).isEmpty();
+        assertThat(index.search(List.of("summer"))).extracting(InvertedIndex.ScoredDocument::getDocId).containsExactly(2);
+    }
+
+    @Test
+    void testTokenizer_NormalizesAccentsAndCase() {
+        // Act & Assert
+        assertThat(TextTokenizer.tokenize("Cerveza Dorada de Baviera, Köln-Style!"))
+                .containsExactly("cerveza", "dorada", "baviera", "koln", "style");
+    }
+}
@@ -0,0 +1,68 @@
+package com.kata.api.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PrefixSuggesterTest {
+
+    private PrefixSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new PrefixSuggester();
+        suggester.put(1, "Sierra Nevada Pale Ale");
+        suggester.put(2, "Pale Ale");
+        suggester.put(3, "Palé Rider");
+        suggester.put(4, "Imperial Stout");
+        suggester.put(5, "Summer Pale Ale of the Northern Hemisphere Brewed Extra Long");
+    }
+
+    @Test
+    void testSuggest_RanksNameStartBeforeInnerWords() {
+        // Act
+        List<PrefixSuggester.Suggestion> results = suggester.suggest("PALE", 10);
+
+        // Assert
+        assertThat(results).extracting(PrefixSuggester.Suggestion::getId).containsExactly(2, 3, 1, 5);
+        assertThat(results.get(1).getName()).isEqualTo("Palé Rider");
+        assertThat(suggester.suggest("pale a", 1)).extracting(PrefixSuggester.Suggestion::getId).containsExactly(2);
+        assertThat(suggester.suggest("stout", 10)).extracting(PrefixSuggester.Suggestion::getId).containsExactly(4);
+        assertThat(suggester.suggest("porter", 10)).isEmpty();
+    }
+
+    @Test
+    void testPutAndRemove_KeepSuggestionsCurrent() {
+        // Act
+        suggester.put(2, "Porter");
+        suggester.remove(3);
+
+        // Assert
+        assertThat(suggester.suggest("pale", 10)).extracting(PrefixSuggester.Suggestion::getId).containsExactly(1, 5);
+        assertThat(suggester.suggest("por", 10)).extracting(PrefixSuggester.Suggestion::getId).containsExactly(2);
+        assertThat(suggester.suggest("rider", 10)).isEmpty();
+        assertThat(suggester.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testSuggest_KeepsBestWhenManyMatch() {
+        // Arrange
+        for (int id = 100; id < 150; id++) {
+            suggester.put(id, "Pale Number " + id);
+        }
+
+        // Act
+        List<PrefixSuggester.Suggestion> results = suggester.suggest("pa", PrefixSuggester.MAX_SUGGESTIONS);
+
+        // Assert
+        assertThat(results).hasSize(PrefixSuggester.MAX_SUGGESTIONS);
+        assertThat(results.get(0).getId()).isEqualTo(2);
+        assertThat(results.get(1).getId()).isEqualTo(3);
+        assertThat(suggester.suggest("summer pale ale of the northern", 10))
+                .extracting(PrefixSuggester.Suggestion::getId).containsExactly(5);
+        assertThat(suggester.suggest("summer pale ale of the southern", 10)).isEmpty();
+    }
+}
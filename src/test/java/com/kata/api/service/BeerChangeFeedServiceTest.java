@@ -0,0 +1,139 @@
+package com.kata.api.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kata.api.config.ChangeFeedProperties;
+import com.kata.api.dto.ChangeFeedDTO;
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.exception.GoneException;
+import com.kata.api.repository.projection.BeerSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BeerChangeFeedServiceTest {
+
+    private ExecutorService sendExecutor;
+    private BeerChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        sendExecutor = mock(ExecutorService.class);
+        changeFeedService = new BeerChangeFeedService(new ChangeFeedProperties(), mock(ScheduledExecutorService.class),
+                sendExecutor);
+    }
+
+    @Test
+    void testGetChanges_WithoutCursorReturnsCurrentPosition() {
+        // Arrange
+        changeFeedService.onBeerChanged(BeerChangedEvent.created(beer(1, 5.0)));
+
+        // Act
+        String cursor = feed(changeFeedService.getChanges(null, 10, Duration.ofSeconds(30))).getNextCursor();
+        changeFeedService.onBeerChanged(BeerChangedEvent.updated(beer(1, 5.0), beer(1, 6.0)));
+        changeFeedService.onBeerChanged(BeerChangedEvent.deleted(2));
+        ChangeFeedDTO changes = feed(changeFeedService.getChanges(cursor, 10, Duration.ZERO));
+
+        // Assert
+        assertThat(changes.getChanges()).extracting("type").containsExactly("UPDATED", "DELETED");
+        assertThat(changes.getChanges().get(0).getFields()).containsEntry("abv", 6.0);
+        assertThat(changes.getChanges().get(1).getFields()).isNull();
+        assertThat(changes.getNextCursor()).isEqualTo(changes.getChanges().get(1).getCursor());
+        assertThat(changes.getHasMore()).isFalse();
+    }
+
+    @Test
+    void testGetChanges_FieldSetToNullIsSerialized() throws Exception {
+        // Arrange
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        String cursor = feed(changeFeedService.getChanges(null, 10, Duration.ZERO)).getNextCursor();
+        changeFeedService.onBeerChanged(BeerChangedEvent.updated(beer(1, 5.0),
+                new BeerSnapshot(1, "Cerveza 1", null, null, null, 1, 1, 1)));
+
+        // Act
+        String json = mapper.writeValueAsString(feed(changeFeedService.getChanges(cursor, 10, Duration.ZERO)));
+
+        // Assert
+        assertThat(json).contains("\"fields\":{\"abv\":null}");
+    }
+
+    @Test
+    void testStreamChanges_OneSendTaskPerSubscriberAtATime() {
+        // Arrange
+        changeFeedService.streamChanges(null);
+        changeFeedService.streamChanges(null);
+
+        // Act: la tarea de cada suscriptor sigue en cola, así que los cambios nuevos no añaden otra
+        changeFeedService.onBeerChanged(BeerChangedEvent.created(beer(1, 5.0)));
+        changeFeedService.onBeerChanged(BeerChangedEvent.created(beer(2, 5.0)));
+
+        // Assert
+        verify(sendExecutor, times(2)).execute(any());
+    }
+
+    @Test
+    void testStreamChanges_QueuedSendAfterDropOnlyCloses() {
+        // Arrange
+        SseEmitter emitter = changeFeedService.streamChanges(null);
+        ArgumentCaptor<Runnable> queued = ArgumentCaptor.forClass(Runnable.class);
+        verify(sendExecutor).execute(queued.capture());
+
+        // Act: la baja llega con la tarea aún en cola, y después un cambio nuevo
+        changeFeedService.close();
+        changeFeedService.onBeerChanged(BeerChangedEvent.created(beer(1, 5.0)));
+        queued.getValue().run();
+
+        // Assert: la tarea cierra el emisor y no vuelve a ponerse en cola
+        assertThatThrownBy(() -> emitter.send("cambio")).isInstanceOf(IllegalStateException.class);
+        verifyNoMoreInteractions(sendExecutor);
+    }
+
+    @Test
+    void testGetChanges_LongPollCompletesOnNextChange() {
+        // Arrange
+        String cursor = feed(changeFeedService.getChanges(null, 10, Duration.ZERO)).getNextCursor();
+        DeferredResult<ChangeFeedDTO> pending = changeFeedService.getChanges(cursor, 10, Duration.ofSeconds(30));
+        assertThat(pending.hasResult()).isFalse();
+
+        // Act
+        changeFeedService.onBeerChanged(BeerChangedEvent.created(beer(3, 4.5)));
+
+        // Assert
+        assertThat(feed(pending).getChanges()).extracting("beerId").containsExactly(3);
+    }
+
+    @Test
+    void testGetChanges_InvalidCursorOrWait() {
+        // Arrange
+        String foreignCursor = new ChangeCursor("otra-instancia", 1).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> changeFeedService.getChanges(foreignCursor, 10, Duration.ZERO))
+                .isInstanceOf(GoneException.class);
+        assertThatThrownBy(() -> changeFeedService.getChanges("no-es-un-cursor", 10, Duration.ZERO))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> changeFeedService.getChanges(null, 10, Duration.ofMinutes(5)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static ChangeFeedDTO feed(DeferredResult<ChangeFeedDTO> result) {
+        assertThat(result.hasResult()).isTrue();
+        return (ChangeFeedDTO) result.getResult();
+    }
+
+    private static BeerSnapshot beer(int id, double abv) {
+        return new BeerSnapshot(id, "Cerveza " + id, null, abv, null, 1, 1, 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.kata.api.service;
+
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.readmodel.BeerFacts;
+import com.kata.api.repository.BeerRepository;
+import com.kata.api.repository.projection.BeerSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BeerFactsIndexTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private BeerFactsListener listener;
+
+    private BeerFactsIndex beerFactsIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(beerRepository.findAllSnapshots()).thenReturn(List.of(
+                new BeerSnapshot(1, "A", "Descripción larga", 5.0, 30.0, 1, 10, 100)));
+        beerFactsIndex = new BeerFactsIndex(beerRepository, List.of(listener));
+        beerFactsIndex.rebuild();
+    }
+
+    @Test
+    void testRebuild_PassesFactsWithoutText() {
+        // Assert
+        verify(listener).rebuild(argThat(beers -> beers.size() == 1
+                && beers.contains(new BeerFacts(1, 1, 10, 100, 5.0, 30.0))));
+    }
+
+    @Test
+    void testOnBeerChanged_DeleteCarriesLastKnownValues() {
+        // Arrange
+        BeerSnapshot updated = new BeerSnapshot(1, "A", null, 6.0, 30.0, 2, 10, 100);
+
+        // Act
+        beerFactsIndex.onBeerChanged(BeerChangedEvent.updated(null, updated));
+        beerFactsIndex.onBeerChanged(BeerChangedEvent.deleted(1));
+        beerFactsIndex.onBeerChanged(BeerChangedEvent.deleted(1));
+
+        // Assert
+        BeerFacts before = new BeerFacts(1, 1, 10, 100, 5.0, 30.0);
+        BeerFacts after = new BeerFacts(1, 2, 10, 100, 6.0, 30.0);
+        verify(listener).onBeerChanged(before, after);
+        verify(listener).onBeerChanged(after, null);
+        verify(listener, times(2)).onBeerChanged(any(), any());
+    }
+}
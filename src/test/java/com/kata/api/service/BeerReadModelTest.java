@@ -0,0 +1,80 @@
+package com.kata.api.service;
+
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.repository.BeerRepository;
+import com.kata.api.repository.BeerSortField;
+import com.kata.api.repository.projection.BeerSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BeerReadModelTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    private BeerReadModel beerReadModel;
+
+    @BeforeEach
+    void setUp() {
+        when(beerRepository.findAllSnapshots()).thenReturn(List.of(beer(1, 5.0), beer(2, 6.0)));
+        beerReadModel = new BeerReadModel(beerRepository);
+        beerReadModel.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void testOnBeerChanged_AppliesOncePerCommittedTransaction() {
+        // Act
+        beerReadModel.onBeerChanged(BeerChangedEvent.created(beer(3, 4.0)));
+        beerReadModel.onBeerChanged(BeerChangedEvent.updated(beer(3, 4.0), beer(3, 9.0)));
+        beerReadModel.onBeerChanged(BeerChangedEvent.deleted(1));
+        int[] beforeCommit = ids();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertThat(beforeCommit).containsExactly(1, 2);
+        assertThat(ids()).containsExactly(2, 3);
+        assertThat(beerReadModel.current().top(BeerSortField.ABV, null, null, 1)).containsExactly(3);
+        assertThat(TransactionSynchronizationManager.getResource(beerReadModel)).isNull();
+    }
+
+    @Test
+    void testOnBeerChanged_DiscardsRolledBackChanges() {
+        // Act
+        beerReadModel.onBeerChanged(BeerChangedEvent.deleted(1));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertThat(ids()).containsExactly(1, 2);
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private int[] ids() {
+        return beerReadModel.current().find(new BeerFilter(), BeerSortField.ID, null, null, 10);
+    }
+
+    private static BeerSnapshot beer(int id, double abv) {
+        return new BeerSnapshot(id, "Cerveza " + id, null, abv, null, 1, 1, 1);
+    }
+}
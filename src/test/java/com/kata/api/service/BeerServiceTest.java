@@ -1,30 +1,54 @@
 package com.kata.api.service;
 
+import com.kata.api.dto.BatchItemResultDTO;
+import com.kata.api.dto.BatchResultDTO;
 import com.kata.api.dto.BeerDTO;
+import com.kata.api.dto.BeerFilter;
+import com.kata.api.dto.BeerPatchDTO;
+import com.kata.api.dto.CursorPageDTO;
+import com.kata.api.dto.FacetCountDTO;
 import com.kata.api.entity.Beer;
 import com.kata.api.entity.Brewery;
 import com.kata.api.entity.Category;
 import com.kata.api.entity.Style;
+import com.kata.api.event.BeerChangedEvent;
+import com.kata.api.exception.BadRequestException;
+import com.kata.api.exception.PreconditionFailedException;
 import com.kata.api.exception.ResourceNotFoundException;
 import com.kata.api.mapper.BeerMapper;
+import com.kata.api.mapper.BeerSummaryMapper;
+import com.kata.api.readmodel.BeerColumns;
 import com.kata.api.repository.BeerRepository;
+import com.kata.api.repository.BeerSortField;
 import com.kata.api.repository.BreweryRepository;
 import com.kata.api.repository.CategoryRepository;
 import com.kata.api.repository.StyleRepository;
+import com.kata.api.repository.projection.BeerSnapshot;
+import com.kata.api.repository.projection.BeerSummary;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +60,9 @@ class BeerServiceTest {
     @Mock
     private BeerMapper beerMapper;
 
+    @Mock
+    private BeerSummaryMapper beerSummaryMapper;
+
     @Mock
     private BreweryRepository breweryRepository;
 
@@ -45,10 +72,26 @@ class BeerServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private BeerReadModel beerReadModel;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private BeerService beerService;
 
     private Beer testBeer;
+    private BeerSummary testBeerSummary;
     private BeerDTO testBeerDTO;
     private Brewery testBrewery;
     private Style testStyle;
@@ -56,6 +99,8 @@ class BeerServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
         testBrewery = Brewery.builder()
                 .id(1)
                 .name("Test Brewery")
@@ -83,6 +128,9 @@ class BeerServiceTest {
                 .category(testCategory)
                 .build();
 
+        testBeerSummary = new BeerSummary(1, "Test Beer", 5.0, 25.0,
+                1, "Test Brewery", 1, "Test Style", 1, "Test Category");
+
         testBeerDTO = BeerDTO.builder()
                 .id(1)
                 .name("Test Beer")
@@ -96,28 +144,196 @@ class BeerServiceTest {
     }
 
     @Test
-    void testGetAllBeers() {
+    void testGetBeersPage() {
         // Arrange
-        List<Beer> beers = Arrays.asList(testBeer);
-        List<BeerDTO> beerDTOs = Arrays.asList(testBeerDTO);
+        List<BeerSummary> beers = Arrays.asList(testBeerSummary);
 
-        when(beerRepository.findAll()).thenReturn(beers);
-        when(beerMapper.toDTO(testBeer)).thenReturn(testBeerDTO);
+        when(beerRepository.findSummaries(any(), eq(BeerSortField.ID), eq(11))).thenReturn(beers);
+        when(beerSummaryMapper.toDTO(testBeerSummary)).thenReturn(testBeerDTO);
 
         // Act
-        List<BeerDTO> result = beerService.getAllBeers();
+        CursorPageDTO<BeerDTO> result = beerService.getBeersPage("id", null, 10, new BeerFilter(), false);
 
         // Assert
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(1);
-        assertThat(result.get(0).getName()).isEqualTo("Test Beer");
-        verify(beerRepository, times(1)).findAll();
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(1);
+        assertThat(result.getItems().get(0).getName()).isEqualTo("Test Beer");
+        assertThat(result.getHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getFacets()).isNull();
+        verify(beerRepository, times(1)).findSummaries(any(), eq(BeerSortField.ID), eq(11));
+        verify(beerRepository, never()).countByStyle(any());
+    }
+
+    @Test
+    void testGetBeersPage_NextCursorContinuesAfterLastBeer() {
+        // Arrange
+        BeerSummary secondBeer = new BeerSummary(2, "Test Beer", 5.0, null, null, null, null, null, null, null);
+        BeerSummary thirdBeer = new BeerSummary(3, "Zeta", 4.0, null, null, null, null, null, null, null);
+
+        when(beerRepository.findSummaries(any(), eq(BeerSortField.NAME), eq(3)))
+                .thenReturn(Arrays.asList(testBeerSummary, secondBeer, thirdBeer));
+        when(beerSummaryMapper.toDTO(any(BeerSummary.class))).thenReturn(testBeerDTO);
+
+        // Act
+        CursorPageDTO<BeerDTO> firstPage = beerService.getBeersPage("name", null, 2, new BeerFilter(), false);
+        BeerCursor cursor = BeerCursor.decode(firstPage.getNextCursor());
+
+        // Assert
+        assertThat(firstPage.getItems()).hasSize(2);
+        assertThat(firstPage.getHasNext()).isTrue();
+        assertThat(cursor.getSort()).isEqualTo(BeerSortField.NAME);
+        assertThat(cursor.getLastId()).isEqualTo(2);
+        assertThat(cursor.getLastValue()).isEqualTo("Test Beer");
+    }
+
+    @Test
+    void testGetBeersPage_CursorKeepsMissingMeasure() {
+        // Arrange
+        BeerSummary withoutIbu = new BeerSummary(7, "Sin IBU", 5.0, null, null, null, null, null, null, null);
+
+        // Act
+        BeerCursor cursor = BeerCursor.decode(BeerCursor.after(BeerSortField.IBU, withoutIbu).encode());
+
+        // Assert
+        assertThat(cursor.getLastId()).isEqualTo(7);
+        assertThat(cursor.getLastValue()).isNull();
+    }
+
+    @Test
+    void testGetBeersPage_WithFacets() {
+        // Arrange
+        BeerFilter filter = BeerFilter.builder().abvMin(4.0).abvMax(6.0).build();
+        List<FacetCountDTO> styleCounts = List.of(new FacetCountDTO(1, "Test Style", 3L));
+        List<FacetCountDTO> categoryCounts = List.of(new FacetCountDTO(1, "Test Category", 3L));
+
+        when(beerRepository.findSummaries(any(), eq(BeerSortField.ABV), eq(11))).thenReturn(List.of(testBeerSummary));
+        when(beerSummaryMapper.toDTO(testBeerSummary)).thenReturn(testBeerDTO);
+        when(beerRepository.countByStyle(any())).thenReturn(styleCounts);
+        when(beerRepository.countByCategory(any())).thenReturn(categoryCounts);
+
+        // Act
+        CursorPageDTO<BeerDTO> result = beerService.getBeersPage("abv", null, 10, filter, true);
+
+        // Assert
+        assertThat(result.getFacets()).containsEntry("style", styleCounts);
+        assertThat(result.getFacets()).containsEntry("category", categoryCounts);
+    }
+
+    @Test
+    void testGetBeersPage_FromColumnarReadModel() {
+        // Arrange
+        when(beerReadModel.current()).thenReturn(BeerColumns.of(List.of(
+                new BeerSnapshot(1, "Test Beer", null, 5.0, 25.0, 1, 1, 1),
+                new BeerSnapshot(2, "Suave", null, 3.0, 10.0, 1, 1, 1),
+                new BeerSnapshot(3, "Fuerte", null, 6.5, 60.0, 1, 1, 1))));
+        when(beerRepository.findSummariesByIds(List.of(1))).thenReturn(List.of(testBeerSummary));
+        when(beerSummaryMapper.toDTO(any(BeerSummary.class)))
+                .thenAnswer(invocation -> BeerDTO.builder().id(invocation.<BeerSummary>getArgument(0).getId()).build());
+        when(styleRepository.findAll()).thenReturn(List.of(testStyle));
+        when(categoryRepository.findAll()).thenReturn(List.of(testCategory));
+        BeerFilter filter = BeerFilter.builder().abvMin(4.0).build();
+
+        // Act
+        CursorPageDTO<BeerDTO> result = beerService.getBeersPage("ibu", null, 1, filter, true);
+
+        // Assert
+        assertThat(result.getItems()).extracting(BeerDTO::getId).containsExactly(1);
+        assertThat(result.getHasNext()).isTrue();
+        assertThat(BeerCursor.decode(result.getNextCursor()).getLastValue()).isEqualTo(25.0);
+        assertThat(result.getFacets().get("style")).containsExactly(new FacetCountDTO(1, "Test Style", 2L));
+        verify(beerRepository, never()).findSummaries(any(), any(), anyInt());
+        verify(beerRepository, never()).countByStyle(any());
+    }
+
+    @Test
+    void testGetBeersPage_FromColumnarReadModel_MissingRowKeepsPaging() {
+        // Arrange: la cerveza 1 está en el modelo pero la réplica todavía no la tiene
+        when(beerReadModel.current()).thenReturn(BeerColumns.of(List.of(
+                new BeerSnapshot(1, "Test Beer", null, 5.0, 25.0, 1, 1, 1),
+                new BeerSnapshot(2, "Suave", null, 3.0, 10.0, 1, 1, 1),
+                new BeerSnapshot(3, "Fuerte", null, 6.5, 60.0, 1, 1, 1))));
+        when(beerRepository.findSummariesByIds(List.of(2, 1))).thenReturn(List.of());
+
+        // Act
+        CursorPageDTO<BeerDTO> result = beerService.getBeersPage("ibu", null, 2, new BeerFilter(), false);
+
+        // Assert
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getHasNext()).isTrue();
+        BeerCursor next = BeerCursor.decode(result.getNextCursor());
+        assertThat(next.getLastId()).isEqualTo(1);
+        assertThat(next.getLastValue()).isEqualTo(25.0);
+    }
+
+    @Test
+    void testGetTopBeers_FromColumnarReadModel() {
+        // Arrange
+        BeerSummary strongBeer = new BeerSummary(3, "Fuerte", 6.5, 60.0, 1, "Test Brewery", 1, "Test Style", 1, "Test Category");
+        when(beerReadModel.current()).thenReturn(BeerColumns.of(List.of(
+                new BeerSnapshot(1, "Test Beer", null, 5.0, 25.0, 1, 1, 1),
+                new BeerSnapshot(2, "Otro estilo", null, 9.0, 10.0, 1, 2, 1),
+                new BeerSnapshot(3, "Fuerte", null, 6.5, 60.0, 1, 1, 1))));
+        when(beerRepository.findSummariesByIds(List.of(3, 1))).thenReturn(List.of(testBeerSummary, strongBeer));
+        when(beerSummaryMapper.toDTO(any(BeerSummary.class)))
+                .thenAnswer(invocation -> BeerDTO.builder().id(invocation.<BeerSummary>getArgument(0).getId()).build());
+
+        // Act
+        List<BeerDTO> result = beerService.getTopBeers("abv", 1, null, 10);
+
+        // Assert
+        assertThat(result).extracting(BeerDTO::getId).containsExactly(3, 1);
+        verify(beerRepository, never()).findTopSummaries(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetTopBeers_InvalidField() {
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.getTopBeers("name", null, null, 10))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> beerService.getTopBeers("abv", null, null, BeerService.MAX_TOP_LIMIT + 1))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testGetBeersPage_InvalidRange() {
+        // Arrange
+        BeerFilter filter = BeerFilter.builder().ibuMin(50.0).ibuMax(10.0).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.getBeersPage("id", null, 10, filter, false))
+                .isInstanceOf(BadRequestException.class);
+        verify(beerRepository, never()).findSummaries(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetBeersPage_InvalidCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.getBeersPage("id", "no-es-un-cursor", 10, new BeerFilter(), false))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testGetBeersPage_CursorFromOtherSort() {
+        // Arrange
+        String abvCursor = BeerCursor.after(BeerSortField.ABV, testBeerSummary).encode();
+
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.getBeersPage("name", abvCursor, 10, new BeerFilter(), false))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testGetBeersPage_InvalidSize() {
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.getBeersPage("id", null, BeerService.MAX_PAGE_SIZE + 1, new BeerFilter(), false))
+                .isInstanceOf(BadRequestException.class);
     }
 
     @Test
     void testGetBeerById_Success() {
         // Arrange
-        when(beerRepository.findById(1)).thenReturn(Optional.of(testBeer));
+        when(beerRepository.findWithAssociationsById(1)).thenReturn(Optional.of(testBeer));
         when(beerMapper.toDTO(testBeer)).thenReturn(testBeerDTO);
 
         // Act
@@ -127,13 +343,13 @@ class BeerServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1);
         assertThat(result.getName()).isEqualTo("Test Beer");
-        verify(beerRepository, times(1)).findById(1);
+        verify(beerRepository, times(1)).findWithAssociationsById(1);
     }
 
     @Test
     void testGetBeerById_NotFound() {
         // Arrange
-        when(beerRepository.findById(9999)).thenReturn(Optional.empty());
+        when(beerRepository.findWithAssociationsById(9999)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> beerService.getBeerById(9999))
@@ -145,9 +361,10 @@ class BeerServiceTest {
     void testCreateBeer_Success() {
         // Arrange
         when(beerMapper.toEntity(testBeerDTO)).thenReturn(testBeer);
-        when(breweryRepository.findById(1)).thenReturn(Optional.of(testBrewery));
-        when(styleRepository.findById(1)).thenReturn(Optional.of(testStyle));
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+        when(secondLevelCache.contains(any(), eq(1))).thenReturn(true);
+        when(breweryRepository.getReferenceById(1)).thenReturn(testBrewery);
+        when(styleRepository.getReferenceById(1)).thenReturn(testStyle);
+        when(categoryRepository.getReferenceById(1)).thenReturn(testCategory);
         when(beerRepository.save(any(Beer.class))).thenReturn(testBeer);
         when(beerMapper.toDTO(testBeer)).thenReturn(testBeerDTO);
 
@@ -158,13 +375,15 @@ class BeerServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1);
         verify(beerRepository, times(1)).save(any(Beer.class));
+        verify(breweryRepository, never()).findById(anyInt());
+        verify(breweryRepository, never()).existsById(anyInt());
     }
 
     @Test
     void testCreateBeer_InvalidBrewery() {
         // Arrange
         when(beerMapper.toEntity(testBeerDTO)).thenReturn(testBeer);
-        when(breweryRepository.findById(9999)).thenReturn(Optional.empty());
+        when(breweryRepository.existsById(9999)).thenReturn(false);
 
         // Act & Assert
         testBeerDTO.setBreweryId(9999);
@@ -173,13 +392,87 @@ class BeerServiceTest {
                 .hasMessageContaining("Cervecería no encontrada");
     }
 
+    @Test
+    void testCreateBeers_ReportsEachItem() {
+        // Arrange
+        BeerDTO invalidBeer = BeerDTO.builder().name("P").build();
+        BeerDTO unknownBrewery = BeerDTO.builder().name("Sin cervecería").breweryId(9999).build();
+
+        when(breweryRepository.findAllById(Set.of(1, 9999))).thenReturn(List.of(testBrewery));
+        when(styleRepository.findAllById(Set.of(1))).thenReturn(List.of(testStyle));
+        when(categoryRepository.findAllById(Set.of(1))).thenReturn(List.of(testCategory));
+        when(beerMapper.toEntity(testBeerDTO)).thenReturn(testBeer);
+        when(beerRepository.insertAllInBatch(List.of(testBeer))).thenReturn(List.of(42));
+
+        // Act
+        BatchResultDTO result = beerService.createBeers(Arrays.asList(testBeerDTO, invalidBeer, unknownBrewery));
+
+        // Assert
+        assertThat(result.getTotal()).isEqualTo(3);
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(BatchItemResultDTO.CREATED);
+        assertThat(result.getResults().get(0).getId()).isEqualTo(42);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(BatchItemResultDTO.INVALID);
+        assertThat(result.getResults().get(1).getErrors()).containsKey("name");
+        assertThat(result.getResults().get(2).getStatus()).isEqualTo(BatchItemResultDTO.NOT_FOUND);
+        verify(breweryRepository, never()).findById(anyInt());
+        verify(beerRepository, never()).save(any(Beer.class));
+    }
+
+    @Test
+    void testCreateBeers_TooLarge() {
+        // Arrange
+        List<BeerDTO> beers = Collections.nCopies(BeerService.MAX_BATCH_SIZE + 1, testBeerDTO);
+
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.createBeers(beers))
+                .isInstanceOf(BadRequestException.class);
+        verify(beerRepository, never()).insertAllInBatch(any());
+    }
+
+    @Test
+    void testPartialUpdateBeers_ReportsEachItem() {
+        // Arrange
+        testBeer.setVersion(2L);
+        Beer otherBeer = Beer.builder().id(2).name("Other Beer").abv(4.0).version(7L).build();
+        List<BeerPatchDTO> patches = Arrays.asList(
+                BeerPatchDTO.builder().id(1).version(2L).changes(BeerDTO.builder().abv(6.0).build()).build(),
+                BeerPatchDTO.builder().id(2).version(6L).changes(BeerDTO.builder().abv(4.5).build()).build(),
+                BeerPatchDTO.builder().id(9999).changes(BeerDTO.builder().abv(5.5).build()).build(),
+                BeerPatchDTO.builder().id(2).changes(BeerDTO.builder().abv(-1.0).build()).build());
+
+        when(beerRepository.findAllById(Set.of(1, 2, 9999))).thenReturn(List.of(testBeer, otherBeer));
+
+        // Act
+        BatchResultDTO result = beerService.partialUpdateBeers(patches);
+
+        // Assert
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getResults().get(0).getStatus()).isEqualTo(BatchItemResultDTO.UPDATED);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(BatchItemResultDTO.PRECONDITION_FAILED);
+        assertThat(result.getResults().get(2).getStatus()).isEqualTo(BatchItemResultDTO.NOT_FOUND);
+        assertThat(result.getResults().get(3).getStatus()).isEqualTo(BatchItemResultDTO.INVALID);
+        assertThat(result.getResults().get(3).getErrors()).containsOnlyKeys("abv");
+        assertThat(testBeer.getAbv()).isEqualTo(6.0);
+        assertThat(testBeer.getName()).isEqualTo("Test Beer");
+        assertThat(otherBeer.getAbv()).isEqualTo(4.0);
+        verify(beerRepository, times(1)).flush();
+        verify(beerRepository, never()).findById(anyInt());
+        verify(eventPublisher, times(1)).publishEvent(any(BeerChangedEvent.class));
+    }
+
     @Test
     void testUpdateBeer_Success() {
         // Arrange
         when(beerRepository.findById(1)).thenReturn(Optional.of(testBeer));
-        when(breweryRepository.findById(1)).thenReturn(Optional.of(testBrewery));
-        when(styleRepository.findById(1)).thenReturn(Optional.of(testStyle));
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+        when(breweryRepository.existsById(1)).thenReturn(true);
+        when(styleRepository.existsById(1)).thenReturn(true);
+        when(categoryRepository.existsById(1)).thenReturn(true);
+        when(breweryRepository.getReferenceById(1)).thenReturn(testBrewery);
+        when(styleRepository.getReferenceById(1)).thenReturn(testStyle);
+        when(categoryRepository.getReferenceById(1)).thenReturn(testCategory);
         when(beerRepository.save(any(Beer.class))).thenReturn(testBeer);
         when(beerMapper.toDTO(testBeer)).thenReturn(testBeerDTO);
 
@@ -189,6 +482,7 @@ class BeerServiceTest {
         // Assert
         assertThat(result).isNotNull();
         verify(beerRepository, times(1)).save(any(Beer.class));
+        verify(breweryRepository, never()).findById(anyInt());
     }
 
     @Test
@@ -204,25 +498,56 @@ class BeerServiceTest {
     @Test
     void testDeleteBeer_Success() {
         // Arrange
-        when(beerRepository.findById(1)).thenReturn(Optional.of(testBeer));
+        when(beerRepository.deleteBeerById(1)).thenReturn(1);
+        ArgumentCaptor<BeerChangedEvent> event = ArgumentCaptor.forClass(BeerChangedEvent.class);
 
         // Act
         beerService.deleteBeer(1);
 
         // Assert
-        verify(beerRepository, times(1)).delete(testBeer);
+        verify(beerRepository, never()).findById(anyInt());
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(BeerChangedEvent.Type.DELETED);
+        assertThat(event.getValue().getBeerId()).isEqualTo(1);
     }
 
     @Test
     void testDeleteBeer_NotFound() {
         // Arrange
-        when(beerRepository.findById(9999)).thenReturn(Optional.empty());
+        when(beerRepository.deleteBeerById(9999)).thenReturn(0);
+        when(beerRepository.findVersionById(9999)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> beerService.deleteBeer(9999))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    void testUpdateBeer_VersionMismatch() {
+        // Arrange
+        testBeer.setVersion(4L);
+        when(beerRepository.findById(1)).thenReturn(Optional.of(testBeer));
+
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.updateBeer(1, testBeerDTO, 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(beerRepository, never()).save(any(Beer.class));
+        verify(eventPublisher, never()).publishEvent(any(BeerChangedEvent.class));
+    }
+
+    @Test
+    void testDeleteBeer_VersionMismatch() {
+        // Arrange
+        when(beerRepository.deleteBeerByIdAndVersion(1, 3L)).thenReturn(0);
+        when(beerRepository.findVersionById(1)).thenReturn(Optional.of(4L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> beerService.deleteBeer(1, 3L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("versión actual 4");
+        verify(eventPublisher, never()).publishEvent(any(BeerChangedEvent.class));
+    }
+
     @Test
     void testPartialUpdateBeer_Success() {
         // Arrange
@@ -242,5 +567,27 @@ class BeerServiceTest {
         assertThat(result).isNotNull();
         verify(beerRepository, times(1)).save(any(Beer.class));
     }
-}
 
+    @Test
+    void testPartialUpdateBeer_PublishesChange() {
+        // Arrange
+        BeerDTO updateDTO = BeerDTO.builder()
+                .abv(6.0)
+                .build();
+
+        when(beerRepository.findById(1)).thenReturn(Optional.of(testBeer));
+        when(beerRepository.save(any(Beer.class))).thenReturn(testBeer);
+        when(beerMapper.toDTO(testBeer)).thenReturn(testBeerDTO);
+        ArgumentCaptor<BeerChangedEvent> event = ArgumentCaptor.forClass(BeerChangedEvent.class);
+
+        // Act
+        beerService.partialUpdateBeer(1, updateDTO);
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(BeerChangedEvent.Type.UPDATED);
+        assertThat(event.getValue().getBefore().getAbv()).isEqualTo(5.0);
+        assertThat(event.getValue().getAfter().getAbv()).isEqualTo(6.0);
+        assertThat(event.getValue().getAfter().getStyleId()).isEqualTo(1);
+    }
+}
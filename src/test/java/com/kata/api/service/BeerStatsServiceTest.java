@@ -0,0 +1,70 @@
+package com.kata.api.service;
+
+import com.kata.api.dto.BeerStatsDTO;
+import com.kata.api.readmodel.BeerFacts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BeerStatsServiceTest {
+
+    private BeerStatsService beerStatsService;
+
+    @BeforeEach
+    void setUp() {
+        beerStatsService = new BeerStatsService();
+        beerStatsService.rebuild(List.of(
+                new BeerFacts(1, 1, 10, 100, 4.0, 20.0),
+                new BeerFacts(2, 1, 10, 100, 5.0, 30.0),
+                new BeerFacts(3, 2, 20, 100, 9.0, null)));
+    }
+
+    @Test
+    void testGetStats_FromSnapshots() {
+        // Act
+        BeerStatsDTO style = beerStatsService.getStyleStats(10, "Lager");
+        BeerStatsDTO category = beerStatsService.getCategoryStats(100, "Ale");
+
+        // Assert
+        assertThat(style.getBeerCount()).isEqualTo(2);
+        assertThat(style.getAbv().getMean()).isEqualTo(4.5);
+        assertThat(style.getAbv().getQuantiles().get("p50")).isBetween(4.0, 5.0);
+        assertThat(style.getIbu().getCount()).isEqualTo(2);
+        assertThat(category.getBeerCount()).isEqualTo(3);
+        assertThat(category.getIbu().getCount()).isEqualTo(2);
+        assertThat(category.getAbv().getBuckets()).filteredOn(bucket -> bucket.getCount() > 0)
+                .extracting(bucket -> bucket.getFrom())
+                .containsExactly(4.0, 5.0, 9.0);
+    }
+
+    @Test
+    void testOnBeerChanged_UpdatesIncrementally() {
+        // Act
+        beerStatsService.onBeerChanged(new BeerFacts(2, 1, 10, 100, 5.0, 30.0), new BeerFacts(2, 1, 20, 100, 6.0, 30.0));
+        beerStatsService.onBeerChanged(new BeerFacts(1, 1, 10, 100, 4.0, 20.0), null);
+
+        // Assert
+        BeerStatsDTO lager = beerStatsService.getStyleStats(10, "Lager");
+        assertThat(lager.getBeerCount()).isZero();
+        assertThat(lager.getAbv().getMean()).isNull();
+        assertThat(lager.getAbv().getQuantiles()).isNull();
+        assertThat(beerStatsService.getStyleStats(20, "Stout").getAbv().getMean()).isEqualTo(7.5);
+        assertThat(beerStatsService.getCategoryStats(100, "Ale").getBeerCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testOnBeerChanged_DriftDoesNotThrow() {
+        // Act
+        beerStatsService.onBeerChanged(new BeerFacts(3, 2, 20, 100, 9.0, null), null);
+        beerStatsService.onBeerChanged(new BeerFacts(3, 2, 20, 100, 9.0, 50.0), null);
+
+        // Assert
+        BeerStatsDTO stout = beerStatsService.getStyleStats(20, "Stout");
+        assertThat(stout.getBeerCount()).isZero();
+        assertThat(stout.getAbv().getCount()).isZero();
+        assertThat(stout.getIbu().getCount()).isZero();
+    }
+}
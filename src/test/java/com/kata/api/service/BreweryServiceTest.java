@@ -0,0 +1,144 @@
+package com.kata.api.service;
+
+import com.kata.api.config.CacheConfig;
+import com.kata.api.dto.BreweryStatsDTO;
+import com.kata.api.dto.FacetCountDTO;
+import com.kata.api.dto.SuggestionDTO;
+import com.kata.api.entity.Brewery;
+import com.kata.api.entity.Style;
+import com.kata.api.event.ReferenceDataChangedEvent;
+import com.kata.api.exception.ResourceNotFoundException;
+import com.kata.api.mapper.BreweryMapper;
+import com.kata.api.readmodel.BeerFacts;
+import com.kata.api.repository.BreweryRepository;
+import com.kata.api.repository.StyleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BreweryServiceTest {
+
+    @Mock
+    private BreweryRepository breweryRepository;
+
+    @Mock
+    private BreweryMapper breweryMapper;
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private StyleRepository styleRepository;
+
+    @InjectMocks
+    private BreweryService breweryService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(breweryRepository.findById(1)).thenReturn(Optional.of(Brewery.builder().id(1).name("Brewery 1").build()));
+        lenient().when(breweryRepository.findById(2)).thenReturn(Optional.of(Brewery.builder().id(2).name("Brewery 2").build()));
+        lenient().when(styleRepository.findAll()).thenReturn(List.of(
+                Style.builder().id(10).name("Stout").build(),
+                Style.builder().id(20).name("Lager").build()));
+
+        breweryService.rebuild(List.of(
+                new BeerFacts(1, 1, 10, null, 5.0, 30.0),
+                new BeerFacts(2, 1, 10, null, 7.0, null),
+                new BeerFacts(3, 1, 20, null, 4.0, 20.0)));
+    }
+
+    @Test
+    void testGetBreweryStats_FromSnapshots() {
+        // Act
+        BreweryStatsDTO result = breweryService.getBreweryStats(1);
+
+        // Assert
+        assertThat(result.getBeerCount()).isEqualTo(3);
+        assertThat(result.getAverageAbv()).isCloseTo(16.0 / 3, within(1e-9));
+        assertThat(result.getAverageIbu()).isEqualTo(25.0);
+        assertThat(result.getStyles()).extracting(FacetCountDTO::getName, FacetCountDTO::getCount)
+                .containsExactly(tuple("Stout", 2L), tuple("Lager", 1L));
+    }
+
+    @Test
+    void testGetBreweryStats_UpdatedIncrementally() {
+        // Arrange
+        BeerFacts moved = new BeerFacts(2, 2, 20, null, 8.0, 40.0);
+
+        // Act
+        breweryService.onBeerChanged(new BeerFacts(2, 1, 10, null, 7.0, null), moved);
+        breweryService.onBeerChanged(new BeerFacts(3, 1, 20, null, 4.0, 20.0), null);
+        breweryService.onBeerChanged(null, new BeerFacts(4, 1, null, null, null, null));
+
+        // Assert
+        BreweryStatsDTO first = breweryService.getBreweryStats(1);
+        assertThat(first.getBeerCount()).isEqualTo(2);
+        assertThat(first.getAverageAbv()).isEqualTo(5.0);
+        assertThat(first.getAverageIbu()).isEqualTo(30.0);
+        assertThat(first.getStyles()).extracting(FacetCountDTO::getId).containsExactly(10);
+
+        BreweryStatsDTO second = breweryService.getBreweryStats(2);
+        assertThat(second.getBeerCount()).isEqualTo(1);
+        assertThat(second.getAverageAbv()).isEqualTo(8.0);
+    }
+
+    @Test
+    void testOnBeerChanged_DriftDoesNotThrow() {
+        // Act: la cervecería 2 no tiene cervezas contadas, y la 1 se vacía y se resta una vez más
+        breweryService.onBeerChanged(new BeerFacts(5, 2, 10, null, 5.0, 30.0), null);
+        breweryService.onBeerChanged(new BeerFacts(1, 1, 10, null, 5.0, 30.0), null);
+        breweryService.onBeerChanged(new BeerFacts(2, 1, 10, null, 7.0, null), null);
+        breweryService.onBeerChanged(new BeerFacts(3, 1, 20, null, 4.0, 20.0), null);
+        breweryService.onBeerChanged(new BeerFacts(3, 1, 20, null, 4.0, 20.0), null);
+        breweryService.onBeerChanged(null, new BeerFacts(6, 1, 20, null, 6.0, null));
+
+        // Assert
+        assertThat(breweryService.getBreweryStats(2).getBeerCount()).isZero();
+        BreweryStatsDTO first = breweryService.getBreweryStats(1);
+        assertThat(first.getBeerCount()).isEqualTo(1);
+        assertThat(first.getAverageAbv()).isEqualTo(6.0);
+        assertThat(first.getAverageIbu()).isNull();
+        assertThat(first.getStyles()).extracting(FacetCountDTO::getId).containsExactly(20);
+    }
+
+    @Test
+    void testGetBreweryStats_NotFound() {
+        // Arrange
+        when(breweryRepository.findById(9999)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> breweryService.getBreweryStats(9999))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Cervecería no encontrada");
+    }
+
+    @Test
+    void testOnReferenceDataChanged_RebuildsSuggestions() {
+        // Arrange
+        when(breweryRepository.findAll())
+                .thenReturn(List.of(Brewery.builder().id(1).name("Old Name").build()))
+                .thenReturn(List.of(Brewery.builder().id(1).name("New Name").build()));
+        breweryService.rebuildLocationIndex();
+
+        // Act
+        breweryService.onReferenceDataChanged(new ReferenceDataChangedEvent(CacheConfig.STYLES));
+        List<SuggestionDTO> beforeEviction = breweryService.suggest("old", 10);
+        breweryService.onReferenceDataChanged(new ReferenceDataChangedEvent(null));
+
+        // Assert
+        assertThat(beforeEviction).extracting(SuggestionDTO::getName).containsExactly("Old Name");
+        assertThat(breweryService.suggest("old", 10)).isEmpty();
+        assertThat(breweryService.suggest("new", 10)).extracting(SuggestionDTO::getName).containsExactly("New Name");
+        verify(breweryRepository, times(2)).findAll();
+    }
+}
@@ -0,0 +1,68 @@
+package com.kata.api.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class FixedBucketHistogramTest {
+
+    private FixedBucketHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new FixedBucketHistogram(1.0, 10);
+        for (int i = 0; i < 100; i++) {
+            histogram.add(i / 20.0);
+        }
+    }
+
+    @Test
+    void testQuantile_InterpolatesWithinBucket() {
+        // Act & Assert
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMean()).isCloseTo(2.475, within(1e-9));
+        assertThat(histogram.quantile(0.5)).isCloseTo(2.5, within(1.0));
+        assertThat(histogram.quantile(0.9)).isCloseTo(4.5, within(1.0));
+        assertThat(histogram.quantile(1.0)).isLessThanOrEqualTo(5.0);
+        assertThat(histogram.getCounts()).startsWith(20, 20, 20, 20, 20, 0);
+    }
+
+    @Test
+    void testRemove_UndoesAdd() {
+        // Act
+        for (int i = 0; i < 80; i++) {
+            histogram.remove(i / 20.0);
+        }
+
+        // Assert
+        assertThat(histogram.getCount()).isEqualTo(20);
+        assertThat(histogram.quantile(0.0)).isGreaterThanOrEqualTo(4.0);
+        assertThat(histogram.getCounts()).startsWith(0, 0, 0, 0, 20);
+        assertThat(histogram.remove(0.5)).isFalse();
+        assertThat(histogram.getCount()).isEqualTo(20);
+    }
+
+    @Test
+    void testOutOfRangeValues_GoToEdgeBuckets() {
+        // Act
+        histogram.add(-1.0);
+        histogram.add(250.0);
+
+        // Assert
+        assertThat(histogram.getCounts()[0]).isEqualTo(21);
+        assertThat(histogram.getCounts()[9]).isEqualTo(1);
+        assertThat(histogram.getUpperBound(9)).isNull();
+        assertThat(histogram.quantile(1.0)).isEqualTo(9.0);
+    }
+
+    @Test
+    void testEmptyHistogram() {
+        // Arrange
+        FixedBucketHistogram empty = new FixedBucketHistogram(5.0, 4);
+
+        // Act & Assert
+        assertThat(empty.getMean()).isNull();
+        assertThat(empty.quantile(0.5)).isNull();
+    }
+}
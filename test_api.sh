@@ -14,18 +14,55 @@ echo ""
 # BEERS - CRUD Completo
 # ============================================================================
 
-echo "--- OBTENER TODAS LAS CERVEZAS ---"
-curl -X GET "$BASE_URL/beers" \
+echo "--- OBTENER PRIMERA PÁGINA DE CERVEZAS ---"
+curl -X GET "$BASE_URL/beers?size=20&sort=name" \
   -H "Content-Type: application/json" \
   -s | jq .
 echo ""
 
+echo "--- OBTENER SIGUIENTE PÁGINA DE CERVEZAS (CURSOR) ---"
+NEXT_CURSOR=$(curl -s "$BASE_URL/beers?size=20&sort=name" | jq -r .nextCursor)
+curl -X GET "$BASE_URL/beers?size=20&sort=name&after=$NEXT_CURSOR" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- FILTRAR CERVEZAS POR ABV Y CATEGORÍA CON RECUENTOS ---"
+curl -X GET "$BASE_URL/beers?size=20&sort=abv&abvMin=5&abvMax=7&categoryId=3&facets=true" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- RANKING DE LAS 10 CERVEZAS MÁS AMARGAS DE UN ESTILO ---"
+curl -X GET "$BASE_URL/beers/top?by=ibu&limit=10&styleId=26" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- SUGERIR NOMBRES DE CERVEZAS (AUTOCOMPLETADO) ---"
+curl -X GET "$BASE_URL/beers/suggest?prefix=pil&limit=5" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- CURSOR ACTUAL DEL REGISTRO DE CAMBIOS ---"
+CHANGES_CURSOR=$(curl -s "$BASE_URL/beers/changes" | jq -r .nextCursor)
+echo "$CHANGES_CURSOR"
+echo ""
+
 echo "--- OBTENER CERVEZA CON ID 1 ---"
 curl -X GET "$BASE_URL/beers/1" \
   -H "Content-Type: application/json" \
   -s | jq .
 echo ""
 
+echo "--- PETICIÓN CONDICIONAL CON ETAG (304 SI NO HA CAMBIADO) ---"
+ETAG=$(curl -s -D - -o /dev/null "$BASE_URL/beers/1" | grep -i '^etag:' | cut -d' ' -f2 | tr -d '\r')
+curl -X GET "$BASE_URL/beers/1" \
+  -H "If-None-Match: $ETAG" \
+  -s -o /dev/null -w "HTTP %{http_code}\n"
+echo ""
+
 echo "--- CREAR NUEVA CERVEZA ---"
 curl -X POST "$BASE_URL/beers" \
   -H "Content-Type: application/json" \
@@ -72,12 +109,36 @@ curl -X DELETE "$BASE_URL/beers/5" \
   -s -w "\nStatus: %{http_code}\n"
 echo ""
 
+echo "--- CAMBIOS DESDE EL CURSOR (ESPERA HASTA 5 SEGUNDOS SI NO HAY NINGUNO) ---"
+curl -X GET "$BASE_URL/beers/changes?since=$CHANGES_CURSOR&wait=5" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- SUSCRIPCIÓN A CAMBIOS POR SSE (5 SEGUNDOS) ---"
+curl -N -X GET "$BASE_URL/beers/changes/stream?since=$CHANGES_CURSOR" \
+  -H "Accept: text/event-stream" \
+  -s --max-time 5
+echo ""
+
 # ============================================================================
 # BREWERIES - Read Only
 # ============================================================================
 
-echo "--- OBTENER TODAS LAS CERVECERÍAS ---"
-curl -X GET "$BASE_URL/breweries" \
+echo "--- OBTENER PRIMERA PÁGINA DE CERVECERÍAS ---"
+curl -X GET "$BASE_URL/breweries?size=20" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- BUSCAR CERVECERÍAS POR PAÍS, CIUDAD Y COMIENZO DEL NOMBRE ---"
+curl -X GET "$BASE_URL/breweries?country=United%20States&city=San%20Diego&namePrefix=St" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- SUGERIR NOMBRES DE CERVECERÍAS (AUTOCOMPLETADO) ---"
+curl -X GET "$BASE_URL/breweries/suggest?prefix=sto" \
   -H "Content-Type: application/json" \
   -s | jq .
 echo ""
@@ -88,6 +149,18 @@ curl -X GET "$BASE_URL/breweries/1" \
   -s | jq .
 echo ""
 
+echo "--- OBTENER CERVEZAS DE LA CERVECERÍA CON ID 1 ---"
+curl -X GET "$BASE_URL/breweries/1/beers?size=20&sort=name" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+echo "--- OBTENER ESTADÍSTICAS DE LA CERVECERÍA CON ID 1 ---"
+curl -X GET "$BASE_URL/breweries/1/stats" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
 # ============================================================================
 # CATEGORIES - Read Only
 # ============================================================================
@@ -104,6 +177,12 @@ curl -X GET "$BASE_URL/categories/1" \
   -s | jq .
 echo ""
 
+echo "--- OBTENER ESTADÍSTICAS DE LA CATEGORÍA CON ID 1 (ABV/IBU) ---"
+curl -X GET "$BASE_URL/categories/1/stats" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
 # ============================================================================
 # STYLES - Read Only
 # ============================================================================
@@ -120,6 +199,20 @@ curl -X GET "$BASE_URL/styles/1" \
   -s | jq .
 echo ""
 
+echo "--- OBTENER ESTADÍSTICAS DEL ESTILO CON ID 1 (ABV/IBU) ---"
+curl -X GET "$BASE_URL/styles/1/stats" \
+  -H "Content-Type: application/json" \
+  -s | jq .
+echo ""
+
+# ============================================================================
+# MÉTRICAS
+# ============================================================================
+
+echo "--- LATENCIA POR RUTA Y CONEXIONES DEL POOL (PROMETHEUS) ---"
+curl -s "$BASE_URL/actuator/prometheus" | grep -E "^(http_server_requests_seconds_count|hikaricp_connections_active)"
+echo ""
+
 # ============================================================================
 # CASOS DE ERROR
 # ============================================================================